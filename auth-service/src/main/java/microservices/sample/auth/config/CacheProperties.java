@@ -0,0 +1,101 @@
+package microservices.sample.auth.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Data;
+
+/**
+ * Settings of the in-process caches used by the authorization service.
+ *
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "auth.cache")
+public class CacheProperties {
+
+    /**
+     * Cache of registered clients, keyed by id and by client id.
+     */
+    private RegisteredClients registeredClients = new RegisteredClients();
+
+    /**
+     * Cache of user details, keyed by username.
+     */
+    private Users users = new Users();
+
+    /**
+     * Cache of authorization consents, keyed by registered client id and
+     * principal name.
+     */
+    private Consents consents = new Consents();
+
+    /**
+     * Registered client cache settings.
+     */
+    @Data
+    public static class RegisteredClients {
+
+        /**
+         * Maximum number of clients kept per key.
+         */
+        private long maximumSize = 10_000;
+
+        /**
+         * Time after which a cached client is discarded. Changes are pushed by
+         * the clients service, so this only bounds missed notifications.
+         */
+        private Duration timeToLive = Duration.ofHours(1);
+
+        /**
+         * Time after which a cached client is reloaded in the background on its next read.
+         */
+        private Duration refreshAfter = Duration.ofMinutes(15);
+
+    }
+
+    /**
+     * User details cache settings.
+     */
+    @Data
+    public static class Users {
+
+        /**
+         * Maximum number of usernames kept.
+         */
+        private long maximumSize = 10_000;
+
+        /**
+         * Time after which a found user is discarded.
+         */
+        private Duration timeToLive = Duration.ofMinutes(1);
+
+        /**
+         * Time after which an unknown username is looked up again.
+         */
+        private Duration negativeTimeToLive = Duration.ofSeconds(10);
+
+    }
+
+    /**
+     * Authorization consent cache settings.
+     */
+    @Data
+    public static class Consents {
+
+        /**
+         * Maximum number of consents kept.
+         */
+        private long maximumSize = 10_000;
+
+        /**
+         * Time after which a cached consent is discarded. Bounds how long a
+         * consent revoked through another replica is still used here.
+         */
+        private Duration timeToLive = Duration.ofMinutes(5);
+
+    }
+
+}
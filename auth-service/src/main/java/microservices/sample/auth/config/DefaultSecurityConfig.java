@@ -1,9 +1,11 @@
 package microservices.sample.auth.config;
 
+import java.util.Map;
 import org.springframework.context.annotation.Bean;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 
@@ -30,8 +32,20 @@ public class DefaultSecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return NoOpPasswordEncoder.getInstance();
+    public PasswordEncoder passwordEncoder(PasswordProperties properties) {
+        // PBKDF2 with the configured parameters, storing the iterations of each hash
+        IteratedPbkdf2PasswordEncoder pbkdf2 = new IteratedPbkdf2PasswordEncoder(properties.getPbkdf2Iterations(), properties.getPbkdf2SaltLength(), properties.getPbkdf2HashWidth());
+
+        // BCrypt, which the clients service, and the users service before, store without prefix
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(properties.getBcryptStrength());
+
+        // Verify any of them, hash with the configured one
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(properties.getEncodingId(), Map.of(
+            PasswordProperties.BCRYPT, bcrypt,
+            PasswordProperties.PBKDF2_SHA256, pbkdf2));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        return encoder;
     }
 
 }
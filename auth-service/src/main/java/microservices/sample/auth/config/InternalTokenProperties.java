@@ -0,0 +1,40 @@
+package microservices.sample.auth.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Data;
+
+/**
+ * Settings of the token the authorization service sends to the users and
+ * clients services.
+ *
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "auth.internal-token")
+public class InternalTokenProperties {
+
+    /**
+     * Subject of the token.
+     */
+    private String subject = "auth-service";
+
+    /**
+     * Scope of the token, which the services require to reveal secrets.
+     */
+    private String scope = "internal";
+
+    /**
+     * Lifetime of the token.
+     */
+    private Duration timeToLive = Duration.ofMinutes(5);
+
+    /**
+     * Time before the expiration at which a new token is issued.
+     */
+    private Duration renewBefore = Duration.ofMinutes(1);
+
+}
@@ -0,0 +1,133 @@
+package microservices.sample.auth.config;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm;
+
+/**
+ * PBKDF2 with HMAC SHA-256 that stores the iteration count with each hash, as
+ * {@code <iterations>$<hash>}. Hashes made with any count can be verified,
+ * and the ones made with a count other than the configured one are outdated,
+ * so raising the count rehashes passwords on login.
+ *
+ * Hashes without a count, made before it was stored, are verified with the
+ * configured count and are always outdated.
+ *
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+public class IteratedPbkdf2PasswordEncoder implements PasswordEncoder {
+
+    /**
+     * Separator of the iteration count and the hash.
+     */
+    private static final char SEPARATOR = '$';
+
+    /**
+     * Iterations of new hashes.
+     */
+    private final int iterations;
+
+    /**
+     * Salt length, in bytes.
+     */
+    private final int saltLength;
+
+    /**
+     * Hash width, in bits.
+     */
+    private final int hashWidth;
+
+    /**
+     * Encoder of new hashes.
+     */
+    private final Pbkdf2PasswordEncoder encoder;
+
+    /**
+     * Creates the encoder.
+     *
+     * @param iterations Iterations of new hashes.
+     * @param saltLength Salt length, in bytes.
+     * @param hashWidth Hash width, in bits.
+     */
+    public IteratedPbkdf2PasswordEncoder(int iterations, int saltLength, int hashWidth) {
+        this.iterations = iterations;
+        this.saltLength = saltLength;
+        this.hashWidth = hashWidth;
+        this.encoder = this.encoder(iterations);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return this.iterations + String.valueOf(SEPARATOR) + this.encoder.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        // If there is no hash
+        if (encodedPassword == null) {
+            return false;
+        }
+
+        // Find the iteration count
+        int separator = encodedPassword.indexOf(SEPARATOR);
+
+        // If the hash has no count, it was made with the configured one
+        if (separator < 0) {
+            return this.encoder.matches(rawPassword, encodedPassword);
+        }
+
+        // Read the count
+        int count = parseIterations(encodedPassword.substring(0, separator));
+
+        // If the count is not valid
+        if (count <= 0) {
+            return false;
+        }
+
+        // Verify with the count of the hash
+        String hash = encodedPassword.substring(separator + 1);
+        return count == this.iterations ? this.encoder.matches(rawPassword, hash) : this.encoder(count).matches(rawPassword, hash);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // If there is no hash
+        if (encodedPassword == null) {
+            return false;
+        }
+
+        // Find the iteration count
+        int separator = encodedPassword.indexOf(SEPARATOR);
+
+        // Outdated unless made with the configured count
+        return separator < 0 || parseIterations(encodedPassword.substring(0, separator)) != this.iterations;
+    }
+
+    /**
+     * Creates the PBKDF2 encoder of an iteration count.
+     *
+     * @param count Iterations.
+     * @return Encoder.
+     */
+    private Pbkdf2PasswordEncoder encoder(int count) {
+        Pbkdf2PasswordEncoder pbkdf2 = new Pbkdf2PasswordEncoder("", this.saltLength, count, this.hashWidth);
+        pbkdf2.setAlgorithm(SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+        return pbkdf2;
+    }
+
+    /**
+     * Parses a stored iteration count.
+     *
+     * @param value Count.
+     * @return Count, or -1 if it is not a number.
+     */
+    private static int parseIterations(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+}
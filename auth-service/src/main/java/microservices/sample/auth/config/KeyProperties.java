@@ -0,0 +1,62 @@
+package microservices.sample.auth.config;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Data;
+
+/**
+ * Settings of the keys that sign tokens.
+ *
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "auth.keys")
+public class KeyProperties {
+
+    /**
+     * Where keys are stored: file, for local runs, or mongo, to share them
+     * between replicas.
+     */
+    private String store = "file";
+
+    /**
+     * File of the file store.
+     */
+    private Path file = Paths.get(System.getProperty("java.io.tmpdir"), "auth-service", "jwks.json");
+
+    /**
+     * Algorithms tokens can be signed with, each with its own key. The first
+     * one signs the tokens of clients that do not choose one.
+     */
+    private List<SignatureAlgorithm> algorithms = List.of(SignatureAlgorithm.RS256, SignatureAlgorithm.ES256);
+
+    /**
+     * Time a key signs tokens before a new one replaces it.
+     */
+    private Duration rotationPeriod = Duration.ofDays(30);
+
+    /**
+     * Time a new key is published before it signs tokens, so resource
+     * servers fetch it before they see it.
+     */
+    private Duration activationDelay = Duration.ofHours(1);
+
+    /**
+     * Time a replaced key is still published, so tokens it signed can be
+     * verified until they expire.
+     */
+    private Duration retention = Duration.ofDays(1);
+
+    /**
+     * Interval at which keys are reloaded from the store, and rotated when due.
+     */
+    private Duration refreshInterval = Duration.ofMinutes(1);
+
+}
@@ -0,0 +1,92 @@
+package microservices.sample.auth.config;
+
+import java.util.concurrent.CompletableFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.stereotype.Component;
+import microservices.sample.auth.model.SigningKey;
+import microservices.sample.auth.model.StoredAuthorization;
+import microservices.sample.auth.model.StoredAuthorizationConsent;
+
+/**
+ * Creates the indexes of the document models once the application is ready.
+ * 
+ * Indexes are derived from the mapping annotations, including the TTL ones
+ * that remove expired documents. They are created in the background, so
+ * startup does not wait for the database and a failure only leaves the
+ * affected queries unindexed.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Component
+public class MongoIndexInitializer {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(MongoIndexInitializer.class);
+
+    /**
+     * Document models, which are not found by a repository scan.
+     */
+    private static final Class<?>[] DOCUMENTS = { StoredAuthorization.class, StoredAuthorizationConsent.class, SigningKey.class };
+
+    /**
+     * Mongo template.
+     */
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * Mongo mapping context.
+     */
+    @Autowired
+    private MongoMappingContext mappingContext;
+
+    /**
+     * Starts the index creation.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeIndexes() {
+        CompletableFuture.runAsync(this::ensureIndexes);
+    }
+
+    /**
+     * Creates the missing indexes of every document model.
+     */
+    private void ensureIndexes() {
+        // Resolve indexes from the model annotations
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(this.mappingContext);
+
+        // For each document model
+        for (Class<?> type : DOCUMENTS) {
+
+            // Get index operations of the collection
+            MongoPersistentEntity<?> entity = this.mappingContext.getRequiredPersistentEntity(type);
+            IndexOperations indexOperations = this.mongoTemplate.indexOps(entity.getCollection());
+
+            // For each declared index
+            for (IndexDefinition definition : resolver.resolveIndexFor(entity.getTypeInformation())) {
+                try {
+                    // Create index if missing
+                    indexOperations.ensureIndex(definition);
+                } catch (DataAccessException e) {
+                    LOGGER.warn("Could not create index {} on {}", definition.getIndexKeys(), entity.getCollection(), e);
+                }
+            }
+        }
+    }
+
+}
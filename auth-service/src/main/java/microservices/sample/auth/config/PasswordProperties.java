@@ -0,0 +1,59 @@
+package microservices.sample.auth.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Data;
+
+/**
+ * Settings of password verification and of the hashes passwords are
+ * upgraded to on login. The users service hashes new passwords with the same
+ * settings, so they must be kept equal to its users.password-hashing ones.
+ *
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "auth.passwords")
+public class PasswordProperties {
+
+    /**
+     * Id of the BCrypt encoder.
+     */
+    public static final String BCRYPT = "bcrypt";
+
+    /**
+     * Id of the PBKDF2 encoder, with HMAC SHA-256.
+     */
+    public static final String PBKDF2_SHA256 = "pbkdf2-sha256";
+
+    /**
+     * Id of the encoder new hashes are made with, bcrypt or pbkdf2-sha256.
+     * Passwords hashed with another encoder are rehashed on login.
+     */
+    private String encodingId = PBKDF2_SHA256;
+
+    /**
+     * BCrypt strength. BCrypt passwords hashed with a lower strength are
+     * rehashed on login when BCrypt is the encoder of new hashes.
+     */
+    private int bcryptStrength = 10;
+
+    /**
+     * PBKDF2 iterations. They are stored with each hash, and passwords hashed
+     * with other counts are rehashed on login when PBKDF2 is the encoder of
+     * new hashes.
+     */
+    private int pbkdf2Iterations = 120_000;
+
+    /**
+     * PBKDF2 salt length, in bytes.
+     */
+    private int pbkdf2SaltLength = 16;
+
+    /**
+     * PBKDF2 hash width, in bits.
+     */
+    private int pbkdf2HashWidth = 256;
+
+}
@@ -0,0 +1,43 @@
+package microservices.sample.auth.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import microservices.sample.auth.model.ApplicationChangeEvent;
+
+/**
+ * Receives application change events pushed by the clients service and
+ * republishes them inside the application context.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@RestController
+public class ApplicationChangeController {
+
+    /**
+     * Spring event publisher.
+     */
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Receives an application change.
+     * 
+     * @param event The change event.
+     * @return Nothing.
+     */
+    @PostMapping("clients/changes")
+    public ResponseEntity<Void> change(@RequestBody ApplicationChangeEvent event) {
+        // Publish event in the application context
+        this.eventPublisher.publishEvent(event);
+
+        // Return response
+        return new ResponseEntity<>(HttpStatus.ACCEPTED);
+    }
+
+}
@@ -26,6 +26,11 @@ public class Application {
      */
     private String id;
 
+    /**
+     * Version of the application.
+     */
+    private Long version;
+
     /**
      * Client id.
      */
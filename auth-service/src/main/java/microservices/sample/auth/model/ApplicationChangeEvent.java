@@ -0,0 +1,56 @@
+package microservices.sample.auth.model;
+
+import java.util.List;
+import lombok.Data;
+
+/**
+ * Notification received from the clients service when an {@link Application}
+ * changes.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Data
+public class ApplicationChangeEvent {
+
+    /**
+     * Kind of change.
+     */
+    public enum Type {
+        SAVED,
+        DELETED,
+        BATCH
+    }
+
+    /**
+     * Kind of change.
+     */
+    private Type type;
+
+    /**
+     * Application id.
+     */
+    private String id;
+
+    /**
+     * Client id.
+     */
+    private String clientId;
+
+    /**
+     * Client id before the change, the same as the client id unless it was
+     * renamed, or null if the application was created.
+     */
+    private String previousClientId;
+
+    /**
+     * Version of the application after the change.
+     */
+    private Long version;
+
+    /**
+     * Changes of several applications, only of batch events.
+     */
+    private List<ApplicationChangeEvent> changes;
+
+}
@@ -0,0 +1,28 @@
+package microservices.sample.auth.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Replacement of the password hash of a user, sent to the users service.
+ *
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PasswordHashChange {
+
+    /**
+     * Hash the user must have.
+     */
+    private String current;
+
+    /**
+     * New hash.
+     */
+    private String replacement;
+
+}
@@ -0,0 +1,54 @@
+package microservices.sample.auth.model;
+
+import java.time.Instant;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Key that signs tokens, with its validity.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Data
+@EqualsAndHashCode(of = "id")
+@Document("signingKeys")
+public class SigningKey {
+
+    /**
+     * Id of the rotation that created the key, made of its algorithm and
+     * generation, so replicas rotating at the same time create the same id.
+     */
+    @Id
+    private String id;
+
+    /**
+     * Generation of the key among the keys of its algorithm, starting at 1.
+     */
+    private long generation;
+
+    /**
+     * Key, including its private part, as a JSON web key.
+     */
+    private String jwk;
+
+    /**
+     * Instant when the key was created and published.
+     */
+    private Instant createdAt;
+
+    /**
+     * Instant from which the key signs tokens.
+     */
+    private Instant activatesAt;
+
+    /**
+     * Instant after which the key is no longer published, and is removed.
+     */
+    @Indexed(expireAfterSeconds = 0)
+    private Instant expiresAt;
+
+}
@@ -0,0 +1,137 @@
+package microservices.sample.auth.model;
+
+import java.time.Instant;
+import java.util.Set;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Authorization stored in Mongo.
+ * 
+ * Tokens are looked up by the hash of their value, so the indexes stay small
+ * however long the tokens are. Attributes and token metadata are kept as
+ * JSON written by the Spring Security Jackson modules, so stored
+ * authorizations do not depend on class versions, and the document is
+ * removed by a TTL index once its last token expires.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Data
+@EqualsAndHashCode(of = "id")
+@Document("authorizations")
+public class StoredAuthorization {
+
+    /**
+     * Authorization id.
+     */
+    @Id
+    private String id;
+
+    /**
+     * Id of the registered client.
+     */
+    private String registeredClientId;
+
+    /**
+     * Name of the resource owner.
+     */
+    private String principalName;
+
+    /**
+     * State of the pending authorization request.
+     */
+    @Indexed(sparse = true)
+    private String state;
+
+    /**
+     * Hash of the authorization code.
+     */
+    @Indexed(sparse = true)
+    private String authorizationCodeHash;
+
+    /**
+     * Hash of the access token.
+     */
+    @Indexed(sparse = true)
+    private String accessTokenHash;
+
+    /**
+     * Hash of the refresh token.
+     */
+    @Indexed(sparse = true)
+    private String refreshTokenHash;
+
+    /**
+     * Instant after which the authorization is removed.
+     */
+    @Indexed(expireAfterSeconds = 0)
+    private Instant expiresAt;
+
+    /**
+     * Authorization grant type.
+     */
+    private String authorizationGrantType;
+
+    /**
+     * Attributes, as JSON.
+     */
+    private String attributes;
+
+    /**
+     * Authorization code.
+     */
+    private Token authorizationCode;
+
+    /**
+     * Access token.
+     */
+    private Token accessToken;
+
+    /**
+     * Refresh token.
+     */
+    private Token refreshToken;
+
+    /**
+     * OpenID Connect id token.
+     */
+    private Token oidcIdToken;
+
+    /**
+     * Token of an authorization.
+     */
+    @Data
+    public static class Token {
+
+        /**
+         * Token value.
+         */
+        private String value;
+
+        /**
+         * Instant the token was issued.
+         */
+        private Instant issuedAt;
+
+        /**
+         * Instant the token expires.
+         */
+        private Instant expiresAt;
+
+        /**
+         * Metadata, as JSON.
+         */
+        private String metadata;
+
+        /**
+         * Scopes, only of access tokens.
+         */
+        private Set<String> scopes;
+
+    }
+
+}
@@ -0,0 +1,44 @@
+package microservices.sample.auth.model;
+
+import java.util.Set;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Authorization consent stored in Mongo, one per registered client and
+ * resource owner.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Data
+@EqualsAndHashCode(of = "id")
+@Document("authorizationConsents")
+@CompoundIndex(name = "registeredClientId_principalName", def = "{'registeredClientId': 1, 'principalName': 1}", unique = true)
+public class StoredAuthorizationConsent {
+
+    /**
+     * Consent id.
+     */
+    @Id
+    private String id;
+
+    /**
+     * Id of the registered client.
+     */
+    private String registeredClientId;
+
+    /**
+     * Name of the resource owner.
+     */
+    private String principalName;
+
+    /**
+     * Granted authorities, including the consented scopes.
+     */
+    private Set<String> authorities;
+
+}
@@ -1,6 +1,5 @@
 package microservices.sample.auth.service;
 
-import java.util.List;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -12,11 +11,11 @@ import microservices.sample.auth.model.Application;
 @FeignClient(name = "clients-service", path = "/clients")
 public interface ApplicationService {
 
-    @GetMapping("{id}")
+    @GetMapping("{id}?secret=true")
     public Application findById(@PathVariable("id") String id);
 
-    @GetMapping
-    public List<Application> findAllByClientId(@RequestParam("clientId") String clientId);
+    @GetMapping("by-client-id?secret=true")
+    public Application findByClientId(@RequestParam("clientId") String clientId);
 
     @PostMapping
     public Application save(@RequestBody Application application);
@@ -0,0 +1,176 @@
+package microservices.sample.auth.service;
+
+import java.net.URL;
+import java.text.ParseException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.crypto.factories.DefaultJWSSignerFactory;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.KeyType;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.oauth2.jose.JwaAlgorithm;
+import org.springframework.security.oauth2.jwt.JoseHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncodingException;
+import org.springframework.stereotype.Service;
+
+/**
+ * {@link JwtEncoder} that reuses a signer per key, instead of converting the
+ * key and building a signer for every token. Signers are thread safe, so one
+ * instance serves every request.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Service
+public class CachingJwtEncoder implements JwtEncoder {
+
+    /**
+     * Maximum number of signers kept, enough for every published key.
+     */
+    private static final long MAXIMUM_SIGNERS = 64;
+
+    /**
+     * Factory of signers.
+     */
+    private static final DefaultJWSSignerFactory SIGNER_FACTORY = new DefaultJWSSignerFactory();
+
+    /**
+     * Source of the signing keys.
+     */
+    @Autowired
+    private JWKSource<SecurityContext> jwkSource;
+
+    /**
+     * Signers by key id.
+     */
+    private final Cache<String, JWSSigner> signers = Caffeine.newBuilder().maximumSize(MAXIMUM_SIGNERS).build();
+
+    @Override
+    public Jwt encode(JoseHeader headers, JwtClaimsSet claims) throws JwtEncodingException {
+        // Get algorithm
+        JwaAlgorithm headerAlgorithm = headers.getAlgorithm();
+        JWSAlgorithm algorithm = JWSAlgorithm.parse(headerAlgorithm.getName());
+
+        // Select key
+        JWK jwk = this.selectKey(headers, algorithm);
+
+        // Add the key id, so verifiers find the key
+        JoseHeader signedHeaders = headers.getKeyId() != null ? headers : JoseHeader.from(headers).keyId(jwk.getKeyID()).build();
+
+        // Sign token
+        String tokenValue;
+
+        try {
+            SignedJWT signedJwt = new SignedJWT(JWSHeader.parse(toJson(signedHeaders.getHeaders())), JWTClaimsSet.parse(toJson(claims.getClaims())));
+            signedJwt.sign(this.signers.get(jwk.getKeyID(), keyId -> createSigner(jwk, algorithm)));
+            tokenValue = signedJwt.serialize();
+        } catch (ParseException | JOSEException e) {
+            throw new JwtEncodingException("An error occurred while attempting to encode the Jwt: " + e.getMessage(), e);
+        }
+
+        // Return token
+        return Jwt.withTokenValue(tokenValue)
+            .headers(values -> values.putAll(signedHeaders.getHeaders()))
+            .claims(values -> values.putAll(claims.getClaims()))
+            .build();
+    }
+
+    /**
+     * Selects the key that signs a token, the same way the default encoder
+     * does.
+     * 
+     * @param headers Token headers.
+     * @param algorithm Signing algorithm.
+     * @return Key.
+     */
+    private JWK selectKey(JoseHeader headers, JWSAlgorithm algorithm) {
+        // Match private signing keys of the algorithm, and of the key id if set
+        JWKMatcher matcher = new JWKMatcher.Builder()
+            .keyType(KeyType.forAlgorithm(algorithm))
+            .keyID(headers.getKeyId())
+            .keyUses(KeyUse.SIGNATURE, null)
+            .algorithms(algorithm, null)
+            .privateOnly(true)
+            .build();
+
+        // Find keys
+        List<JWK> jwks;
+
+        try {
+            jwks = this.jwkSource.get(new JWKSelector(matcher), null);
+        } catch (KeySourceException e) {
+            throw new JwtEncodingException("Failed to select a JWK signing key -> " + e.getMessage(), e);
+        }
+
+        // If there is not exactly one key
+        if (jwks.size() > 1) {
+            throw new JwtEncodingException("Found multiple JWK signing keys for algorithm '" + algorithm.getName() + "'");
+        }
+
+        if (jwks.isEmpty()) {
+            throw new JwtEncodingException("Failed to select a JWK signing key");
+        }
+
+        // Return key
+        return jwks.get(0);
+    }
+
+    /**
+     * Creates the signer of a key.
+     * 
+     * @param jwk Key.
+     * @param algorithm Signing algorithm.
+     * @return Signer.
+     */
+    private static JWSSigner createSigner(JWK jwk, JWSAlgorithm algorithm) {
+        try {
+            return SIGNER_FACTORY.createJWSSigner(jwk, algorithm);
+        } catch (JOSEException e) {
+            throw new JwtEncodingException("Failed to create a JWS Signer -> " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Converts header or claim values into their JSON form.
+     * 
+     * @param values Values.
+     * @return JSON values.
+     */
+    private static Map<String, Object> toJson(Map<String, Object> values) {
+        Map<String, Object> json = new LinkedHashMap<>();
+
+        values.forEach((name, value) -> {
+            if (value instanceof Instant) {
+                json.put(name, ((Instant) value).getEpochSecond());
+            } else if (value instanceof JwaAlgorithm) {
+                json.put(name, ((JwaAlgorithm) value).getName());
+            } else if (value instanceof URL) {
+                json.put(name, value.toString());
+            } else {
+                json.put(name, value);
+            }
+        });
+
+        return json;
+    }
+
+}
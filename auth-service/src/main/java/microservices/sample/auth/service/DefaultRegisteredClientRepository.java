@@ -1,31 +1,88 @@
 package microservices.sample.auth.service;
 
-import java.util.List;
+import javax.annotation.PostConstruct;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
 import org.springframework.security.oauth2.server.authorization.client.RegisteredClientRepository;
 import org.springframework.security.oauth2.server.authorization.config.ClientSettings;
 import org.springframework.security.oauth2.server.authorization.config.TokenSettings;
 import org.springframework.stereotype.Service;
+import microservices.sample.auth.config.CacheProperties;
 import microservices.sample.auth.model.Application;
+import microservices.sample.auth.model.ApplicationChangeEvent;
 
 /**
  * A custom implementation of {@link RegisteredClientRepository} that uses the
  * {@link ClientSettings} and {@link TokenSettings} to determine which
  * {@link RegisteredClient}s are available.
  * 
+ * Built clients are kept in a bounded near-cache keyed by both id and client
+ * id, so the token and authorization endpoints do not pay a remote call on
+ * every request. Entries are reloaded in the background once they are older
+ * than the configured refresh interval, and evicted or refreshed as soon as
+ * the clients service reports a change.
+ * 
  * @author Matías Hermosilla
  * @since 2021-09-04
  */
 @Service
 public class DefaultRegisteredClientRepository implements RegisteredClientRepository {
 
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultRegisteredClientRepository.class);
+
     /**
      * The {@link ApplicationService} to use to retrieve the {@link Application}s.
      */
     @Autowired
     private ApplicationService applicationService;
 
+    /**
+     * Cache settings.
+     */
+    @Autowired
+    private CacheProperties cacheProperties;
+
+    /**
+     * Registry where the cache metrics are published.
+     */
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * {@link RegisteredClient}s cached by id.
+     */
+    private LoadingCache<String, RegisteredClient> clientsById;
+
+    /**
+     * {@link RegisteredClient}s cached by client id.
+     */
+    private LoadingCache<String, RegisteredClient> clientsByClientId;
+
+    /**
+     * Builds the caches and binds their metrics.
+     */
+    @PostConstruct
+    public void initializeCaches() {
+        // Build one cache per lookup key
+        this.clientsById = this.buildCache(this::loadById);
+        this.clientsByClientId = this.buildCache(this::loadByClientId);
+
+        // Publish hit, miss, eviction and load metrics
+        CaffeineCacheMetrics.monitor(this.meterRegistry, this.clientsById, "registered-clients-by-id");
+        CaffeineCacheMetrics.monitor(this.meterRegistry, this.clientsByClientId, "registered-clients-by-client-id");
+    }
+
     /**
      * Saves the {@link RegisteredClient}s.
      * 
@@ -38,6 +95,9 @@ public class DefaultRegisteredClientRepository implements RegisteredClientReposi
 
         // Save application
         this.applicationService.save(application);
+
+        // Drop any stale copy of the client
+        this.evict(registeredClient.getId(), registeredClient.getClientId());
     }
 
     /**
@@ -47,18 +107,13 @@ public class DefaultRegisteredClientRepository implements RegisteredClientReposi
      */
     @Override
     public RegisteredClient findById(String id) {
-        // Find application by id
-        Application application = applicationService.findById(id);
-
-        // If the application is not null
-        if (application != null) {
-
-            // Return the registered client object from the application
-            return this.fromApplication(application);
+        // Ignore empty keys
+        if (id == null) {
+            return null;
         }
 
-        // Return null if the application is null
-        return null;
+        // Get the cached client, loading it if absent
+        return this.clientsById.get(id);
     }
 
     /**
@@ -68,21 +123,136 @@ public class DefaultRegisteredClientRepository implements RegisteredClientReposi
      */
     @Override
     public RegisteredClient findByClientId(String clientId) {
-        // Find all by client id
-        List<Application> applications = applicationService.findAllByClientId(clientId);
+        // Ignore empty keys
+        if (clientId == null) {
+            return null;
+        }
+
+        // Get the cached client, loading it if absent
+        return this.clientsByClientId.get(clientId);
+    }
+
+    /**
+     * Removes a client from the caches.
+     * 
+     * @param id The id of the client, may be null.
+     * @param clientId The client id of the client, may be null.
+     */
+    public void evict(String id, String clientId) {
+        // If the id is known
+        if (id != null) {
+            this.clientsById.invalidate(id);
+        }
+
+        // If the client id is known
+        if (clientId != null) {
+            this.clientsByClientId.invalidate(clientId);
+        }
+    }
+
+    /**
+     * Applies a change reported by the clients service to the caches. Clients
+     * that were cached are reloaded right away, the rest are only evicted.
+     * Reloads always read the latest state, so out of order events are harmless.
+     * Batch events apply each of their changes.
+     * 
+     * @param event The change event.
+     */
+    @EventListener
+    public void onApplicationChange(ApplicationChangeEvent event) {
+        // If the event groups several changes
+        if (event.getType() == ApplicationChangeEvent.Type.BATCH) {
+            if (event.getChanges() != null) {
+                event.getChanges().forEach(this::onApplicationChange);
+            }
+
+            return;
+        }
+
+        LOGGER.debug("Application {} {} at version {}", event.getId(), event.getType(), event.getVersion());
+
+        // Whether the client was cached by id
+        boolean cached = event.getId() != null && this.clientsById.getIfPresent(event.getId()) != null;
+
+        // Evict the old and new keys, the caches evict independently so the previous client id may be cached alone
+        this.evict(event.getId(), event.getClientId());
+        this.evict(null, event.getPreviousClientId());
+
+        // If the client was cached and still exists
+        if (cached && event.getType() == ApplicationChangeEvent.Type.SAVED) {
+
+            // Reload it in the background
+            this.clientsById.refresh(event.getId());
+        }
+    }
+
+    /**
+     * Loads a {@link RegisteredClient} by id from the clients service.
+     * 
+     * @param id The id of the client.
+     * @return The client, or null if it does not exist.
+     */
+    private RegisteredClient loadById(String id) {
+        // Find application by id
+        Application application = this.applicationService.findById(id);
+
+        // If the application is null
+        if (application == null) {
+            return null;
+        }
+
+        // Build the registered client
+        RegisteredClient registeredClient = this.fromApplication(application);
 
-        // If the list is not empty
-        if (!applications.isEmpty()) {
+        // Share the client with the other key
+        this.clientsByClientId.put(registeredClient.getClientId(), registeredClient);
 
-            // Get the first application
-            Application application = applications.get(0);
+        // Return the registered client
+        return registeredClient;
+    }
+
+    /**
+     * Loads a {@link RegisteredClient} by client id from the clients service.
+     * 
+     * @param clientId The client id of the client.
+     * @return The client, or null if it does not exist.
+     */
+    private RegisteredClient loadByClientId(String clientId) {
+        // Find application by client id
+        Application application = this.applicationService.findByClientId(clientId);
 
-            // Return the registered client object from the application
-            return this.fromApplication(application);
+        // If the application is null
+        if (application == null) {
+            return null;
         }
 
-        // Return null if the application is null
-        return null;
+        // Build the registered client
+        RegisteredClient registeredClient = this.fromApplication(application);
+
+        // Share the client with the other key
+        this.clientsById.put(registeredClient.getId(), registeredClient);
+
+        // Return the registered client
+        return registeredClient;
+    }
+
+    /**
+     * Builds a client cache using the configured settings.
+     * 
+     * @param loader The function that loads missing or stale entries.
+     * @return The cache.
+     */
+    private LoadingCache<String, RegisteredClient> buildCache(CacheLoader<String, RegisteredClient> loader) {
+        // Get settings
+        CacheProperties.RegisteredClients settings = this.cacheProperties.getRegisteredClients();
+
+        // Build cache
+        return Caffeine.newBuilder()
+            .maximumSize(settings.getMaximumSize())
+            .expireAfterWrite(settings.getTimeToLive())
+            .refreshAfterWrite(settings.getRefreshAfter())
+            .recordStats()
+            .build(loader);
     }
 
     /**
@@ -1,32 +1,207 @@
 package microservices.sample.auth.service;
 
-import java.util.List;
+import java.util.Optional;
+import javax.annotation.PostConstruct;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import microservices.sample.auth.config.CacheProperties;
+import microservices.sample.auth.model.PasswordHashChange;
 import microservices.sample.auth.model.User;
 
+/**
+ * {@link UserDetailsService} backed by the users service.
+ * 
+ * Resolved users are cached by exact username for a short time. Unknown
+ * usernames are cached as well, for an even shorter time, so bursts of
+ * logins with made up usernames do not reach the users service.
+ * 
+ * Passwords hashed with outdated parameters are rehashed after a successful
+ * login and stored back in the users service.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
 @Service
-public class DefaultUserDetailsService implements UserDetailsService {
+public class DefaultUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultUserDetailsService.class);
+
+    /**
+     * Name of the cache in the published metrics.
+     */
+    private static final String CACHE_NAME = "user-details";
 
     @Autowired
     private UserService userService;
 
+    /**
+     * Cache settings.
+     */
+    @Autowired
+    private CacheProperties cacheProperties;
+
+    /**
+     * Registry where the cache metrics are published.
+     */
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Users cached by username, empty when the username does not exist.
+     */
+    private LoadingCache<String, Optional<User>> usersByUsername;
+
+    /**
+     * Number of passwords rehashed on login.
+     */
+    private Counter upgradedPasswords;
+
+    /**
+     * Number of rehashed passwords that could not be stored.
+     */
+    private Counter failedPasswordUpgrades;
+
+    /**
+     * Builds the cache and binds its metrics.
+     */
+    @PostConstruct
+    public void initializeCache() {
+        // Get settings
+        CacheProperties.Users settings = this.cacheProperties.getUsers();
+
+        // Build cache
+        this.usersByUsername = Caffeine.newBuilder()
+            .maximumSize(settings.getMaximumSize())
+            .expireAfter(new UserExpiry(settings.getTimeToLive().toNanos(), settings.getNegativeTimeToLive().toNanos()))
+            .recordStats()
+            .build(this::loadByUsername);
+
+        // Publish hit, miss, eviction and load latency metrics
+        CaffeineCacheMetrics.monitor(this.meterRegistry, this.usersByUsername, CACHE_NAME);
+
+        // Publish hit ratio
+        Gauge.builder("cache.hit.ratio", this.usersByUsername, cache -> cache.stats().hitRate())
+            .tag("cache", CACHE_NAME)
+            .description("The ratio of cache requests which were hits")
+            .register(this.meterRegistry);
+
+        // Publish password upgrades
+        this.upgradedPasswords = Counter.builder("auth.password.upgrades")
+            .tag("result", "upgraded")
+            .description("Passwords rehashed on login")
+            .register(this.meterRegistry);
+        this.failedPasswordUpgrades = Counter.builder("auth.password.upgrades")
+            .tag("result", "failed")
+            .description("Passwords rehashed on login")
+            .register(this.meterRegistry);
+    }
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        // If the username is empty
+        if (username == null) {
+            throw new UsernameNotFoundException(username);
+        }
+
         // Find user
-        List<User> users = this.userService.findAllByUsername(username);
+        Optional<User> optUser = this.usersByUsername.get(username);
 
-        // If user list is empty
-        if (users.isEmpty()) {
+        // If user is not found
+        if (optUser.isEmpty()) {
             // Throw exception
             throw new UsernameNotFoundException(username);
         }
 
-        // Return the first user
-        return users.get(0);
+        // Return the user
+        return optUser.get();
     }
-    
+
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        // Get user
+        User current = (User) user;
+
+        // Store the new hash, unless the password was changed meanwhile
+        try {
+            this.userService.replacePasswordHash(current.getId(), new PasswordHashChange(current.getPassword(), newPassword));
+        } catch (FeignException e) {
+            // The old hash keeps working, so the login goes on
+            LOGGER.warn("Could not upgrade password hash of user {}: {}", current.getId(), e.getMessage());
+            this.failedPasswordUpgrades.increment();
+            return user;
+        }
+
+        // Discard the cached copy with the old hash
+        this.usersByUsername.invalidate(current.getUsername());
+        this.upgradedPasswords.increment();
+
+        // Return the user
+        return user;
+    }
+
+    /**
+     * Loads a user from the users service.
+     * 
+     * @param username The username.
+     * @return The user, or empty if it does not exist.
+     */
+    private Optional<User> loadByUsername(String username) {
+        // Find user by exact username
+        return Optional.ofNullable(this.userService.findByUsername(username));
+    }
+
+    /**
+     * Expiration policy that keeps unknown usernames for less time than found users.
+     */
+    private static class UserExpiry implements Expiry<String, Optional<User>> {
+
+        /**
+         * Time to live of found users, in nanoseconds.
+         */
+        private final long timeToLive;
+
+        /**
+         * Time to live of unknown usernames, in nanoseconds.
+         */
+        private final long negativeTimeToLive;
+
+        UserExpiry(long timeToLive, long negativeTimeToLive) {
+            this.timeToLive = timeToLive;
+            this.negativeTimeToLive = negativeTimeToLive;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Optional<User> value, long currentTime) {
+            return value.isPresent() ? this.timeToLive : this.negativeTimeToLive;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Optional<User> value, long currentTime, long currentDuration) {
+            return this.expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Optional<User> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+    }
+
 }
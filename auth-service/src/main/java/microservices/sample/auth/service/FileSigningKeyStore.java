@@ -0,0 +1,118 @@
+package microservices.sample.auth.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import microservices.sample.auth.config.KeyProperties;
+import microservices.sample.auth.model.SigningKey;
+
+/**
+ * {@link SigningKeyStore} backed by a local file, for runs with a single
+ * replica. Expired keys are removed whenever a key is saved.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Service
+@ConditionalOnProperty(name = "auth.keys.store", havingValue = "file", matchIfMissing = true)
+public class FileSigningKeyStore implements SigningKeyStore {
+
+    /**
+     * Jackson object mapper.
+     */
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Key settings.
+     */
+    @Autowired
+    private KeyProperties keyProperties;
+
+    @Override
+    public synchronized List<SigningKey> findAll() {
+        // Keep keys that have not expired
+        Instant now = Instant.now();
+        return this.read().stream().filter(key -> key.getExpiresAt().isAfter(now)).collect(Collectors.toList());
+    }
+
+    @Override
+    public synchronized long findLastGeneration(String algorithm) {
+        // Find the newest key of the algorithm by id, expired or not
+        String prefix = algorithm + "-";
+        return this.read().stream().filter(key -> key.getId().startsWith(prefix)).mapToLong(SigningKey::getGeneration).max().orElse(0);
+    }
+
+    @Override
+    public synchronized void save(SigningKey key) {
+        // Add the key to the ones that have not expired
+        List<SigningKey> keys = new ArrayList<>(this.findAll());
+
+        // If the key was already saved
+        if (keys.contains(key)) {
+            return;
+        }
+
+        keys.add(key);
+
+        // Write keys
+        this.write(keys);
+    }
+
+    /**
+     * Reads the keys of the file.
+     * 
+     * @return Keys, or none if the file does not exist.
+     */
+    private List<SigningKey> read() {
+        // Get file
+        Path file = this.keyProperties.getFile();
+
+        // If there is no file yet
+        if (!Files.exists(file)) {
+            return List.of();
+        }
+
+        // Read keys
+        try {
+            return Arrays.asList(this.objectMapper.readValue(file.toFile(), SigningKey[].class));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Replaces the keys of the file. The keys are written to a temporary file
+     * that is then moved, so the file is never left half written.
+     * 
+     * @param keys Keys.
+     */
+    private void write(List<SigningKey> keys) {
+        // Get file
+        Path file = this.keyProperties.getFile().toAbsolutePath();
+
+        try {
+            // Create the directory if needed
+            Files.createDirectories(file.getParent());
+
+            // Write a temporary file and move it into place
+            Path temporary = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            this.objectMapper.writeValue(temporary.toFile(), keys);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,114 @@
+package microservices.sample.auth.service;
+
+import java.time.Instant;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.oauth2.jwt.JoseHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.server.authorization.config.ProviderSettings;
+import org.springframework.stereotype.Component;
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import microservices.sample.auth.config.InternalTokenProperties;
+import microservices.sample.auth.config.KeyProperties;
+
+/**
+ * Authenticates the Feign requests to the users and clients services with a
+ * token of the internal scope. This service is the issuer, so it signs the
+ * token itself instead of running a client credentials grant against its own
+ * endpoint, which would need the clients service to load the client first.
+ * The token is reused until shortly before it expires.
+ *
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Component
+public class InternalTokenInterceptor implements RequestInterceptor {
+
+    /**
+     * Prefix of bearer authorization headers.
+     */
+    private static final String BEARER = "Bearer ";
+
+    /**
+     * Encoder that signs the token.
+     */
+    @Autowired
+    private JwtEncoder jwtEncoder;
+
+    /**
+     * Provider settings, with the issuer.
+     */
+    @Autowired
+    private ProviderSettings providerSettings;
+
+    /**
+     * Signing key settings.
+     */
+    @Autowired
+    private KeyProperties keyProperties;
+
+    /**
+     * Internal token settings.
+     */
+    @Autowired
+    private InternalTokenProperties properties;
+
+    /**
+     * Current token, null until the first request.
+     */
+    private volatile Jwt token;
+
+    @Override
+    public void apply(RequestTemplate template) {
+        template.header(HttpHeaders.AUTHORIZATION, BEARER + this.currentToken().getTokenValue());
+    }
+
+    /**
+     * Gets the current token, issuing a new one if it is about to expire.
+     *
+     * @return Token.
+     */
+    private Jwt currentToken() {
+        // If the token is still valid for a while
+        Jwt current = this.token;
+
+        if (current != null && Instant.now().isBefore(current.getExpiresAt().minus(this.properties.getRenewBefore()))) {
+            return current;
+        }
+
+        // Issue a new token, once for all waiting requests
+        synchronized (this) {
+            if (this.token == current) {
+                this.token = this.issueToken();
+            }
+
+            return this.token;
+        }
+    }
+
+    /**
+     * Signs a new token of the internal scope with the default algorithm.
+     *
+     * @return Token.
+     */
+    private Jwt issueToken() {
+        // Token lifetime
+        Instant issuedAt = Instant.now();
+
+        // Claims
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+            .issuer(this.providerSettings.getIssuer())
+            .subject(this.properties.getSubject())
+            .issuedAt(issuedAt)
+            .expiresAt(issuedAt.plus(this.properties.getTimeToLive()))
+            .claim("scope", this.properties.getScope())
+            .build();
+
+        // Sign token
+        return this.jwtEncoder.encode(JoseHeader.withAlgorithm(this.keyProperties.getAlgorithms().get(0)).build(), claims);
+    }
+
+}
@@ -0,0 +1,166 @@
+package microservices.sample.auth.service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationConsent;
+import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationConsentService;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+import microservices.sample.auth.config.CacheProperties;
+import microservices.sample.auth.model.StoredAuthorizationConsent;
+
+/**
+ * {@link OAuth2AuthorizationConsentService} backed by Mongo, so consents are
+ * shared by every replica and survive restarts.
+ * 
+ * Consents are read on every authorization request, so found ones are kept
+ * in a bounded local cache. Missing consents are not cached, so a consent
+ * given through another replica is seen right away. Consents revoked through
+ * another replica may still be used here until they expire from the cache.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Service
+public class MongoOAuth2AuthorizationConsentService implements OAuth2AuthorizationConsentService {
+
+    /**
+     * Name of the cache in the published metrics.
+     */
+    private static final String CACHE_NAME = "authorization-consents";
+
+    /**
+     * Mongo template.
+     */
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * Cache settings.
+     */
+    @Autowired
+    private CacheProperties cacheProperties;
+
+    /**
+     * Registry where the cache metrics are published.
+     */
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Consents cached by registered client id and principal name.
+     */
+    private LoadingCache<List<String>, OAuth2AuthorizationConsent> consents;
+
+    /**
+     * Builds the cache and binds its metrics.
+     */
+    @PostConstruct
+    public void initializeCache() {
+        // Get settings
+        CacheProperties.Consents settings = this.cacheProperties.getConsents();
+
+        // Build cache
+        this.consents = Caffeine.newBuilder()
+            .maximumSize(settings.getMaximumSize())
+            .expireAfterWrite(settings.getTimeToLive())
+            .recordStats()
+            .build(this::load);
+
+        // Publish hit, miss, eviction and load metrics
+        CaffeineCacheMetrics.monitor(this.meterRegistry, this.consents, CACHE_NAME);
+    }
+
+    @Override
+    public void save(OAuth2AuthorizationConsent authorizationConsent) {
+        Assert.notNull(authorizationConsent, "authorizationConsent cannot be null");
+
+        // Granted authorities
+        List<String> authorities = authorizationConsent.getAuthorities().stream()
+            .map(GrantedAuthority::getAuthority)
+            .collect(Collectors.toList());
+
+        // Insert or replace the consent of the client and principal
+        this.mongoTemplate.upsert(query(authorizationConsent.getRegisteredClientId(), authorizationConsent.getPrincipalName()),
+            new Update().set("authorities", authorities), StoredAuthorizationConsent.class);
+
+        // Cache the saved consent
+        this.consents.put(key(authorizationConsent.getRegisteredClientId(), authorizationConsent.getPrincipalName()), authorizationConsent);
+    }
+
+    @Override
+    public void remove(OAuth2AuthorizationConsent authorizationConsent) {
+        Assert.notNull(authorizationConsent, "authorizationConsent cannot be null");
+
+        // Delete document
+        this.mongoTemplate.remove(query(authorizationConsent.getRegisteredClientId(), authorizationConsent.getPrincipalName()), StoredAuthorizationConsent.class);
+
+        // Drop the cached consent
+        this.consents.invalidate(key(authorizationConsent.getRegisteredClientId(), authorizationConsent.getPrincipalName()));
+    }
+
+    @Override
+    public OAuth2AuthorizationConsent findById(String registeredClientId, String principalName) {
+        Assert.hasText(registeredClientId, "registeredClientId cannot be empty");
+        Assert.hasText(principalName, "principalName cannot be empty");
+
+        // Get the cached consent, loading it if absent
+        return this.consents.get(key(registeredClientId, principalName));
+    }
+
+    /**
+     * Loads a consent from Mongo.
+     * 
+     * @param key Registered client id and principal name.
+     * @return The consent, or null if there is none, which is not cached.
+     */
+    private OAuth2AuthorizationConsent load(List<String> key) {
+        // Find document
+        StoredAuthorizationConsent stored = this.mongoTemplate.findOne(query(key.get(0), key.get(1)), StoredAuthorizationConsent.class);
+
+        // If the consent is not found
+        if (stored == null) {
+            return null;
+        }
+
+        // Return the consent
+        return OAuth2AuthorizationConsent.withId(stored.getRegisteredClientId(), stored.getPrincipalName())
+            .authorities(authorities -> stored.getAuthorities().forEach(authority -> authorities.add(new SimpleGrantedAuthority(authority))))
+            .build();
+    }
+
+    /**
+     * Builds the cache key of a consent.
+     * 
+     * @param registeredClientId Registered client id.
+     * @param principalName Principal name.
+     * @return Key.
+     */
+    private static List<String> key(String registeredClientId, String principalName) {
+        return List.of(registeredClientId, principalName);
+    }
+
+    /**
+     * Builds the query of a consent, which uses the compound index.
+     * 
+     * @param registeredClientId Registered client id.
+     * @param principalName Principal name.
+     * @return Query.
+     */
+    private static Query query(String registeredClientId, String principalName) {
+        return Query.query(Criteria.where("registeredClientId").is(registeredClientId).and("principalName").is(principalName));
+    }
+
+}
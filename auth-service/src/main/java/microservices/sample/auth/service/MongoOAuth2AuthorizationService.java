@@ -0,0 +1,421 @@
+package microservices.sample.auth.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.jackson2.SecurityJackson2Modules;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2AuthorizationCode;
+import org.springframework.security.oauth2.core.OAuth2RefreshToken;
+import org.springframework.security.oauth2.core.OAuth2Token;
+import org.springframework.security.oauth2.core.OAuth2TokenType;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationService;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClientRepository;
+import org.springframework.security.oauth2.server.authorization.jackson2.OAuth2AuthorizationServerJackson2Module;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+import microservices.sample.auth.model.StoredAuthorization;
+
+/**
+ * {@link OAuth2AuthorizationService} backed by Mongo, so authorizations are
+ * shared by every replica and survive restarts.
+ * 
+ * Authorizations are written as JSON with the Spring Security Jackson
+ * modules, as the JDBC implementation of the framework does. The principal
+ * is stored without its credentials, and an authorization that cannot be
+ * read back, such as one written by an older version, is treated as not
+ * found.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Service
+public class MongoOAuth2AuthorizationService implements OAuth2AuthorizationService {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(MongoOAuth2AuthorizationService.class);
+
+    /**
+     * Type of attributes and metadata.
+     */
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() { };
+
+    /**
+     * Token types whose expiration bounds the life of an authorization.
+     */
+    private static final List<Class<? extends OAuth2Token>> TOKEN_TYPES = List.of(OAuth2AuthorizationCode.class, OAuth2AccessToken.class, OAuth2RefreshToken.class, OidcIdToken.class);
+
+    /**
+     * Mongo template.
+     */
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * Registered client repository.
+     */
+    @Autowired
+    private RegisteredClientRepository registeredClientRepository;
+
+    /**
+     * Time an authorization without tokens, waiting for consent or for its
+     * code to be issued, is kept.
+     */
+    @Value("${auth.authorizations.pending-time-to-live:10m}")
+    private Duration pendingTimeToLive;
+
+    /**
+     * Mapper of attributes and metadata, with the types Spring Security
+     * allows to read back.
+     */
+    private final ObjectMapper objectMapper = createObjectMapper();
+
+    @Override
+    public void save(OAuth2Authorization authorization) {
+        Assert.notNull(authorization, "authorization cannot be null");
+
+        // Create document
+        StoredAuthorization stored = new StoredAuthorization();
+        stored.setId(authorization.getId());
+        stored.setRegisteredClientId(authorization.getRegisteredClientId());
+        stored.setPrincipalName(authorization.getPrincipalName());
+        stored.setState(authorization.getAttribute(OAuth2ParameterNames.STATE));
+        stored.setAuthorizationCodeHash(hash(authorization.getToken(OAuth2AuthorizationCode.class)));
+        stored.setAccessTokenHash(hash(authorization.getAccessToken()));
+        stored.setRefreshTokenHash(hash(authorization.getRefreshToken()));
+        stored.setExpiresAt(this.expiresAt(authorization));
+        stored.setAuthorizationGrantType(authorization.getAuthorizationGrantType().getValue());
+        stored.setAttributes(this.write(withoutCredentials(authorization.getAttributes())));
+        stored.setAuthorizationCode(this.toStored(authorization.getToken(OAuth2AuthorizationCode.class)));
+        stored.setAccessToken(this.toStored(authorization.getAccessToken()));
+        stored.setRefreshToken(this.toStored(authorization.getRefreshToken()));
+        stored.setOidcIdToken(this.toStored(authorization.getToken(OidcIdToken.class)));
+
+        // Insert or replace document
+        this.mongoTemplate.save(stored);
+    }
+
+    @Override
+    public void remove(OAuth2Authorization authorization) {
+        Assert.notNull(authorization, "authorization cannot be null");
+
+        // Delete document
+        this.mongoTemplate.remove(Query.query(Criteria.where("id").is(authorization.getId())), StoredAuthorization.class);
+    }
+
+    @Override
+    public OAuth2Authorization findById(String id) {
+        Assert.hasText(id, "id cannot be empty");
+
+        // Find document
+        return this.toAuthorization(this.mongoTemplate.findById(id, StoredAuthorization.class));
+    }
+
+    @Override
+    public OAuth2Authorization findByToken(String token, OAuth2TokenType tokenType) {
+        Assert.hasText(token, "token cannot be empty");
+
+        // Build criteria of the token type
+        Criteria criteria;
+
+        if (tokenType == null) {
+            String hash = hash(token);
+            criteria = new Criteria().orOperator(
+                Criteria.where("state").is(token),
+                Criteria.where("authorizationCodeHash").is(hash),
+                Criteria.where("accessTokenHash").is(hash),
+                Criteria.where("refreshTokenHash").is(hash));
+        } else if (OAuth2ParameterNames.STATE.equals(tokenType.getValue())) {
+            criteria = Criteria.where("state").is(token);
+        } else if (OAuth2ParameterNames.CODE.equals(tokenType.getValue())) {
+            criteria = Criteria.where("authorizationCodeHash").is(hash(token));
+        } else if (OAuth2TokenType.ACCESS_TOKEN.equals(tokenType)) {
+            criteria = Criteria.where("accessTokenHash").is(hash(token));
+        } else if (OAuth2TokenType.REFRESH_TOKEN.equals(tokenType)) {
+            criteria = Criteria.where("refreshTokenHash").is(hash(token));
+        } else {
+            return null;
+        }
+
+        // Find document
+        return this.toAuthorization(this.mongoTemplate.findOne(Query.query(criteria), StoredAuthorization.class));
+    }
+
+    /**
+     * Gets the instant after which an authorization is of no use, the
+     * expiration of its last token.
+     * 
+     * @param authorization Authorization.
+     * @return Expiration.
+     */
+    private Instant expiresAt(OAuth2Authorization authorization) {
+        // Latest expiration of the tokens
+        return TOKEN_TYPES.stream()
+            .map(authorization::getToken)
+            .filter(Objects::nonNull)
+            .map(token -> token.getToken().getExpiresAt())
+            .filter(Objects::nonNull)
+            .max(Instant::compareTo)
+            .orElseGet(() -> Instant.now().plus(this.pendingTimeToLive));
+    }
+
+    /**
+     * Hashes the value of a token.
+     * 
+     * @param token Token, or null.
+     * @return Hash, or null.
+     */
+    private static String hash(OAuth2Authorization.Token<?> token) {
+        return token != null ? hash(token.getToken().getTokenValue()) : null;
+    }
+
+    /**
+     * Hashes a token value with SHA-256.
+     * 
+     * @param value Token value.
+     * @return Hash, encoded as URL safe base 64.
+     */
+    private static String hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Converts a token of an authorization.
+     * 
+     * @param token Token, or null.
+     * @return Stored token, or null.
+     */
+    private StoredAuthorization.Token toStored(OAuth2Authorization.Token<?> token) {
+        // If there is no token
+        if (token == null) {
+            return null;
+        }
+
+        // Copy token
+        StoredAuthorization.Token stored = new StoredAuthorization.Token();
+        stored.setValue(token.getToken().getTokenValue());
+        stored.setIssuedAt(token.getToken().getIssuedAt());
+        stored.setExpiresAt(token.getToken().getExpiresAt());
+        stored.setMetadata(this.write(token.getMetadata()));
+
+        // Access tokens have scopes
+        if (token.getToken() instanceof OAuth2AccessToken) {
+            stored.setScopes(((OAuth2AccessToken) token.getToken()).getScopes());
+        }
+
+        return stored;
+    }
+
+    /**
+     * Converts a stored authorization.
+     * 
+     * @param stored Stored authorization, or null.
+     * @return Authorization, or null if it is not found or cannot be read.
+     */
+    private OAuth2Authorization toAuthorization(StoredAuthorization stored) {
+        // If the authorization is not found
+        if (stored == null) {
+            return null;
+        }
+
+        // If the client no longer exists
+        RegisteredClient registeredClient = this.registeredClientRepository.findById(stored.getRegisteredClientId());
+
+        if (registeredClient == null) {
+            return null;
+        }
+
+        try {
+            // Copy authorization
+            OAuth2Authorization.Builder builder = OAuth2Authorization.withRegisteredClient(registeredClient)
+                .id(stored.getId())
+                .principalName(stored.getPrincipalName())
+                .authorizationGrantType(new AuthorizationGrantType(stored.getAuthorizationGrantType()))
+                .attributes(attributes -> attributes.putAll(this.read(stored.getAttributes())));
+
+            // Copy tokens
+            this.addToken(builder, stored.getAuthorizationCode(), (token, metadata) -> new OAuth2AuthorizationCode(token.getValue(), token.getIssuedAt(), token.getExpiresAt()));
+            this.addToken(builder, stored.getAccessToken(), (token, metadata) -> new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, token.getValue(), token.getIssuedAt(), token.getExpiresAt(), token.getScopes()));
+            this.addToken(builder, stored.getRefreshToken(), (token, metadata) -> new OAuth2RefreshToken(token.getValue(), token.getIssuedAt(), token.getExpiresAt()));
+            this.addToken(builder, stored.getOidcIdToken(), (token, metadata) -> new OidcIdToken(token.getValue(), token.getIssuedAt(), token.getExpiresAt(), claims(metadata)));
+
+            return builder.build();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Ignoring unreadable authorization {}", stored.getId(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Adds a stored token to an authorization.
+     * 
+     * @param builder Authorization builder.
+     * @param stored Stored token, or null.
+     * @param factory Creates the token from the stored token and its metadata.
+     */
+    private void addToken(OAuth2Authorization.Builder builder, StoredAuthorization.Token stored, BiFunction<StoredAuthorization.Token, Map<String, Object>, OAuth2Token> factory) {
+        // If there is no token
+        if (stored == null) {
+            return;
+        }
+
+        // Add token with its metadata
+        Map<String, Object> metadata = this.read(stored.getMetadata());
+        builder.token(factory.apply(stored, metadata), tokenMetadata -> tokenMetadata.putAll(metadata));
+    }
+
+    /**
+     * Writes attributes or metadata as JSON.
+     * 
+     * @param map Attributes or metadata.
+     * @return JSON.
+     */
+    private String write(Map<String, Object> map) {
+        try {
+            return this.objectMapper.writeValueAsString(normalize(map));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads attributes or metadata from JSON.
+     * 
+     * @param json JSON.
+     * @return Attributes or metadata.
+     */
+    private Map<String, Object> read(String json) {
+        try {
+            return this.objectMapper.readValue(json, MAP_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Copies maps, lists and sets into the collection types the mapper reads
+     * back, since immutable and other collections are not allowed.
+     * 
+     * @param value Value.
+     * @return Value to write.
+     */
+    private static Object normalize(Object value) {
+        if (value instanceof Map) {
+            Map<Object, Object> map = new LinkedHashMap<>();
+            ((Map<?, ?>) value).forEach((key, entry) -> map.put(key, normalize(entry)));
+            return map;
+        } else if (value instanceof List) {
+            return ((List<?>) value).stream().map(MongoOAuth2AuthorizationService::normalize).collect(Collectors.toCollection(ArrayList::new));
+        } else if (value instanceof Set) {
+            return ((Set<?>) value).stream().map(MongoOAuth2AuthorizationService::normalize).collect(Collectors.toCollection(HashSet::new));
+        }
+
+        return value;
+    }
+
+    /**
+     * Gets the claims kept in the metadata of a token.
+     * 
+     * @param metadata Metadata.
+     * @return Claims.
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> claims(Map<String, Object> metadata) {
+        return (Map<String, Object>) metadata.get(OAuth2Authorization.Token.CLAIMS_METADATA_NAME);
+    }
+
+    /**
+     * Replaces the authenticated principal of the attributes with a copy that
+     * only keeps the username and authorities, so neither the password hash
+     * nor application types are stored.
+     * 
+     * @param attributes Attributes.
+     * @return Attributes to store.
+     */
+    private static Map<String, Object> withoutCredentials(Map<String, Object> attributes) {
+        // If there is no authenticated principal
+        Object value = attributes.get(Principal.class.getName());
+
+        if (!(value instanceof Authentication)) {
+            return attributes;
+        }
+
+        // Copy authorities
+        Authentication authentication = (Authentication) value;
+        List<GrantedAuthority> authorities = authentication.getAuthorities().stream()
+            .map(authority -> new SimpleGrantedAuthority(authority.getAuthority()))
+            .collect(Collectors.toList());
+
+        // Copy user without password
+        Object principal = authentication.getPrincipal();
+
+        if (principal instanceof UserDetails) {
+            UserDetails user = (UserDetails) principal;
+            org.springframework.security.core.userdetails.User copy = new org.springframework.security.core.userdetails.User(user.getUsername(), "",
+                user.isEnabled(), user.isAccountNonExpired(), user.isCredentialsNonExpired(), user.isAccountNonLocked(), authorities);
+            copy.eraseCredentials();
+            principal = copy;
+        }
+
+        // Replace principal
+        Map<String, Object> copy = new HashMap<>(attributes);
+        copy.put(Principal.class.getName(), new UsernamePasswordAuthenticationToken(principal, null, authorities));
+
+        return copy;
+    }
+
+    /**
+     * Creates the mapper of attributes and metadata.
+     * 
+     * @return Mapper.
+     */
+    private static ObjectMapper createObjectMapper() {
+        ClassLoader classLoader = MongoOAuth2AuthorizationService.class.getClassLoader();
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModules(SecurityJackson2Modules.getModules(classLoader));
+        objectMapper.registerModule(new OAuth2AuthorizationServerJackson2Module());
+        return objectMapper;
+    }
+
+}
@@ -0,0 +1,60 @@
+package microservices.sample.auth.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import microservices.sample.auth.model.SigningKey;
+
+/**
+ * {@link SigningKeyStore} backed by Mongo, shared by every replica. Expired
+ * keys are removed by a TTL index.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Service
+@ConditionalOnProperty(name = "auth.keys.store", havingValue = "mongo")
+public class MongoSigningKeyStore implements SigningKeyStore {
+
+    /**
+     * Mongo template.
+     */
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public List<SigningKey> findAll() {
+        // Find keys, the TTL monitor may not have removed every expired one yet
+        return this.mongoTemplate.find(Query.query(Criteria.where("expiresAt").gt(Instant.now())), SigningKey.class);
+    }
+
+    @Override
+    public long findLastGeneration(String algorithm) {
+        // Find the newest key of the algorithm by id, expired or not
+        Query query = Query.query(Criteria.where("_id").regex("^" + Pattern.quote(algorithm + "-")))
+            .with(Sort.by(Sort.Direction.DESC, "generation"))
+            .limit(1);
+        query.fields().include("generation");
+
+        SigningKey last = this.mongoTemplate.findOne(query, SigningKey.class);
+        return last == null ? 0 : last.getGeneration();
+    }
+
+    @Override
+    public void save(SigningKey key) {
+        try {
+            this.mongoTemplate.insert(key);
+        } catch (DuplicateKeyException e) {
+            // Another replica created the key of this rotation
+        }
+    }
+
+}
@@ -0,0 +1,302 @@
+package microservices.sample.auth.service;
+
+import java.text.ParseException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.stereotype.Service;
+import microservices.sample.auth.config.KeyProperties;
+import microservices.sample.auth.model.SigningKey;
+
+/**
+ * {@link JWKSource} of the keys that sign tokens, kept in a
+ * {@link SigningKeyStore} so every replica and restart uses the same keys.
+ * 
+ * There is a key for each configured algorithm, and each one is rotated on
+ * a schedule. A new key is published some time before it starts signing,
+ * and a replaced key is still published for some time after, so resource
+ * servers always know the keys of the tokens they receive. The
+ * keys are held in memory and reloaded from the store at a fixed interval.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Service
+public class SigningKeyManager implements JWKSource<SecurityContext> {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(SigningKeyManager.class);
+
+    /**
+     * Size of the generated RSA keys, in bits.
+     */
+    private static final int RSA_KEY_SIZE = 2048;
+
+    /**
+     * Key store.
+     */
+    @Autowired
+    private SigningKeyStore signingKeyStore;
+
+    /**
+     * Key settings.
+     */
+    @Autowired
+    private KeyProperties keyProperties;
+
+    /**
+     * Keys currently known.
+     */
+    private volatile Keys keys;
+
+    /**
+     * Loads the keys, creating the first one if there is none.
+     */
+    @PostConstruct
+    public void initializeKeys() {
+        this.refresh();
+    }
+
+    /**
+     * Reloads the keys from the store, and rotates the key of each algorithm
+     * when due.
+     */
+    @Scheduled(fixedDelayString = "${auth.keys.refresh-interval:PT1M}", initialDelayString = "${auth.keys.refresh-interval:PT1M}")
+    public void refresh() {
+        // Load keys
+        Keys loaded = new Keys(this.signingKeyStore.findAll());
+
+        // Whether a key was created
+        boolean created = false;
+
+        // For each signing algorithm
+        for (SignatureAlgorithm algorithm : this.keyProperties.getAlgorithms()) {
+
+            // Newest key of the algorithm
+            SigningKey newest = loaded.newest(algorithm);
+
+            // If a new key is due
+            if (this.isRotationDue(newest)) {
+
+                // Create and store a new key
+                this.signingKeyStore.save(this.createKey(algorithm, newest));
+                created = true;
+            }
+        }
+
+        // Load keys again, with the ones other replicas may have added
+        if (created) {
+            loaded = new Keys(this.signingKeyStore.findAll());
+        }
+
+        // Replace keys
+        this.keys = loaded;
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) {
+        // Get current keys
+        Keys current = this.keys;
+
+        // Matching keys
+        List<JWK> matches = jwkSelector.select(current.jwkSet);
+
+        // Keys selected by id are returned as they are
+        JWKMatcher matcher = jwkSelector.getMatcher();
+
+        if (matcher.getKeyIDs() != null && !matcher.getKeyIDs().isEmpty()) {
+            return matches;
+        }
+
+        // So are all keys, when they are selected to be published
+        if (matcher.getKeyTypes() == null && matcher.getAlgorithms() == null) {
+            return matches;
+        }
+
+        // Otherwise a key is being chosen to sign, return only the newest active one among the matches
+        Instant now = Instant.now();
+
+        return current.newestFirst.stream()
+            .filter(key -> !key.getActivatesAt().isAfter(now))
+            .map(key -> current.jwks.get(key.getId()))
+            .filter(matches::contains)
+            .limit(1)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Checks whether a new key should be created, which happens once the
+     * newest key of an algorithm is about to reach the end of its rotation
+     * period.
+     * 
+     * @param newest Newest key of the algorithm, or null if there is none.
+     * @return Whether a new key should be created.
+     */
+    private boolean isRotationDue(SigningKey newest) {
+        // If there is no key
+        if (newest == null) {
+            return true;
+        }
+
+        // Instant when the newest key should be replaced, minus the time the new one waits to activate
+        Instant due = newest.getActivatesAt()
+            .plus(this.keyProperties.getRotationPeriod())
+            .minus(this.keyProperties.getActivationDelay());
+
+        return !Instant.now().isBefore(due);
+    }
+
+    /**
+     * Creates a new key, the next generation of the keys of its algorithm.
+     * 
+     * @param algorithm Algorithm the key signs with.
+     * @param newest Key it replaces, or null if it is the first key, which signs tokens right away.
+     * @return Key.
+     */
+    private SigningKey createKey(SignatureAlgorithm algorithm, SigningKey newest) {
+        // Generate key
+        JWK jwk = generate(JWSAlgorithm.parse(algorithm.getName()));
+
+        // Key validity
+        Instant now = Instant.now();
+        Instant activatesAt = newest == null ? now : now.plus(this.keyProperties.getActivationDelay());
+
+        // Replicas rotating at once create the same generation, and only one is kept
+        long generation = newest != null ? newest.getGeneration() + 1 : this.firstGeneration(algorithm);
+
+        SigningKey key = new SigningKey();
+        key.setId(algorithm.getName() + "-" + generation);
+        key.setGeneration(generation);
+        key.setJwk(jwk.toJSONString());
+        key.setCreatedAt(now);
+        key.setActivatesAt(activatesAt);
+        key.setExpiresAt(activatesAt.plus(this.keyProperties.getRotationPeriod()).plus(this.keyProperties.getRetention()));
+
+        LOGGER.info("Created {} signing key {}, active from {}", key.getId(), jwk.getKeyID(), key.getActivatesAt());
+
+        return key;
+    }
+
+    /**
+     * Gets the generation of a key when the algorithm has no active key, which
+     * follows the expired keys still stored, if any.
+     * 
+     * @param algorithm Algorithm the key signs with.
+     * @return Generation.
+     */
+    private long firstGeneration(SignatureAlgorithm algorithm) {
+        return this.signingKeyStore.findLastGeneration(algorithm.getName()) + 1;
+    }
+
+    /**
+     * Generates a signing key for an algorithm.
+     * 
+     * @param algorithm Algorithm.
+     * @return Key.
+     */
+    private static JWK generate(JWSAlgorithm algorithm) {
+        try {
+            // If it is an RSA algorithm
+            if (JWSAlgorithm.Family.RSA.contains(algorithm)) {
+                return new RSAKeyGenerator(RSA_KEY_SIZE)
+                    .keyUse(KeyUse.SIGNATURE)
+                    .algorithm(algorithm)
+                    .keyID(UUID.randomUUID().toString())
+                    .generate();
+            }
+
+            // If it is an elliptic curve algorithm
+            if (JWSAlgorithm.Family.EC.contains(algorithm)) {
+                return new ECKeyGenerator(Curve.forJWSAlgorithm(algorithm).iterator().next())
+                    .keyUse(KeyUse.SIGNATURE)
+                    .algorithm(algorithm)
+                    .keyID(UUID.randomUUID().toString())
+                    .generate();
+            }
+        } catch (JOSEException e) {
+            throw new IllegalStateException(e);
+        }
+
+        // Other algorithms need a shared secret, not a key pair
+        throw new IllegalArgumentException("Unsupported signing algorithm " + algorithm);
+    }
+
+    /**
+     * Snapshot of the known keys.
+     */
+    private static class Keys {
+
+        /**
+         * Keys, by activation, newest first.
+         */
+        private final List<SigningKey> newestFirst;
+
+        /**
+         * Parsed keys, by stored key id.
+         */
+        private final Map<String, JWK> jwks = new HashMap<>();
+
+        /**
+         * Parsed keys.
+         */
+        private final JWKSet jwkSet;
+
+        Keys(List<SigningKey> keys) {
+            // Parse keys
+            this.newestFirst = new ArrayList<>();
+
+            for (SigningKey key : keys) {
+                try {
+                    this.jwks.put(key.getId(), JWK.parse(key.getJwk()));
+                    this.newestFirst.add(key);
+                } catch (ParseException e) {
+                    LOGGER.warn("Ignoring signing key {} that cannot be parsed", key.getId(), e);
+                }
+            }
+
+            // Sort keys, the newest first
+            this.newestFirst.sort(Comparator.comparing(SigningKey::getActivatesAt).thenComparing(SigningKey::getId).reversed());
+            this.jwkSet = new JWKSet(this.newestFirst.stream().map(key -> this.jwks.get(key.getId())).collect(Collectors.toList()));
+        }
+
+        SigningKey newest(SignatureAlgorithm algorithm) {
+            // Find the first key of the algorithm
+            for (SigningKey key : this.newestFirst) {
+                JWK jwk = this.jwks.get(key.getId());
+
+                if (jwk != null && jwk.getAlgorithm() != null && algorithm.getName().equals(jwk.getAlgorithm().getName())) {
+                    return key;
+                }
+            }
+
+            return null;
+        }
+
+    }
+
+}
@@ -0,0 +1,39 @@
+package microservices.sample.auth.service;
+
+import java.util.List;
+import microservices.sample.auth.model.SigningKey;
+
+/**
+ * Store of the keys that sign tokens.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+public interface SigningKeyStore {
+
+    /**
+     * Finds every key that has not expired.
+     * 
+     * @return Keys.
+     */
+    public List<SigningKey> findAll();
+
+    /**
+     * Finds the newest generation stored for an algorithm, including the keys
+     * that expired but may still be stored, so a new key never takes the id of
+     * one of them.
+     * 
+     * @param algorithm Name of the algorithm.
+     * @return Generation, or 0 if there is no key of the algorithm.
+     */
+    public long findLastGeneration(String algorithm);
+
+    /**
+     * Saves a new key, unless a key with the same id was already saved, such
+     * as by another replica rotating at the same time.
+     * 
+     * @param key Key.
+     */
+    public void save(SigningKey key);
+
+}
@@ -1,15 +1,21 @@
 package microservices.sample.auth.service;
 
-import java.util.List;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
+import microservices.sample.auth.model.PasswordHashChange;
 import microservices.sample.auth.model.User;
 
 @FeignClient(name = "users-service", path = "/users")
 public interface UserService {
 
-    @GetMapping
-    public List<User> findAllByUsername(@RequestParam("username") String username);
+    @GetMapping("by-username?secret=true")
+    public User findByUsername(@RequestParam("username") String username);
+
+    @PutMapping("{id}/password-hash")
+    public void replacePasswordHash(@PathVariable("id") String id, @RequestBody PasswordHashChange change);
 
 }
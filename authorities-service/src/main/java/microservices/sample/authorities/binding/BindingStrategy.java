@@ -0,0 +1,34 @@
+package microservices.sample.authorities.binding;
+
+/**
+ * Ways of matching a string property against a request parameter.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+public enum BindingStrategy {
+
+    /**
+     * Case sensitive equality. Can use a regular index.
+     */
+    EXACT,
+
+    /**
+     * Case sensitive prefix, as an anchored regular expression. Can use a
+     * regular index.
+     */
+    PREFIX,
+
+    /**
+     * Case insensitive equality. Can use an index when the model declares a
+     * case insensitive collation on its {@code @Document}, otherwise it falls
+     * back to an anchored case insensitive regular expression.
+     */
+    IGNORE_CASE,
+
+    /**
+     * Case insensitive substring. Always scans the collection.
+     */
+    CONTAINS
+
+}
@@ -0,0 +1,108 @@
+package microservices.sample.authorities.binding;
+
+import java.lang.reflect.Field;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.EntityPathBase;
+import com.querydsl.core.types.dsl.StringPath;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.querydsl.binding.QuerydslBindings;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Applies the {@link QueryBinding}s declared on a model to the
+ * {@link QuerydslBindings} of its repository.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+public final class QueryBindingCustomizer {
+
+    /**
+     * Characters with a special meaning in regular expressions.
+     */
+    private static final String REGEX_METACHARACTERS = "\\^$.|?*+()[]{}";
+
+    private QueryBindingCustomizer() {
+    }
+
+    /**
+     * Binds every annotated string property of the model.
+     * 
+     * @param bindings The bindings of the repository.
+     * @param qModel The query model of the entity.
+     */
+    public static void customize(QuerydslBindings bindings, EntityPathBase<?> qModel) {
+        // Get the model type
+        Class<?> type = qModel.getType();
+
+        // Determine if the collection compares strings ignoring case
+        Document document = type.getAnnotation(Document.class);
+        boolean collated = document != null && StringUtils.hasText(document.collation());
+
+        // For each model field
+        ReflectionUtils.doWithFields(type, field -> {
+
+            // Get the declared strategy
+            QueryBinding binding = field.getAnnotation(QueryBinding.class);
+
+            // Find the matching path of the query model
+            Field pathField = ReflectionUtils.findField(qModel.getClass(), field.getName(), StringPath.class);
+
+            // If the path is not a string path
+            if (pathField == null) {
+                throw new IllegalStateException("@QueryBinding is only supported on string properties: " + field);
+            }
+
+            // Get the path
+            StringPath path = (StringPath) ReflectionUtils.getField(pathField, qModel);
+
+            // Bind the path
+            bindings.bind(path).first((StringPath p, String value) -> predicate(binding.value(), p, value, collated));
+
+        }, field -> field.isAnnotationPresent(QueryBinding.class));
+    }
+
+    /**
+     * Builds the predicate of a strategy.
+     * 
+     * @param strategy The strategy.
+     * @param path The property path.
+     * @param value The request value.
+     * @param collated Whether the collection has a case insensitive collation.
+     * @return The predicate.
+     */
+    public static Predicate predicate(BindingStrategy strategy, StringPath path, String value, boolean collated) {
+        switch (strategy) {
+            case EXACT:
+                return path.eq(value);
+            case PREFIX:
+                return path.matches("^" + escape(value));
+            case IGNORE_CASE:
+                return collated ? path.eq(value) : path.equalsIgnoreCase(value);
+            default:
+                return path.containsIgnoreCase(value);
+        }
+    }
+
+    /**
+     * Escapes the regular expression metacharacters of a literal value, so the
+     * resulting pattern keeps a plain prefix the index can seek on.
+     * 
+     * @param value The literal value.
+     * @return The escaped value.
+     */
+    private static String escape(String value) {
+        StringBuilder builder = new StringBuilder(value.length() + 8);
+
+        for (char c : value.toCharArray()) {
+            if (REGEX_METACHARACTERS.indexOf(c) >= 0) {
+                builder.append('\\');
+            }
+            builder.append(c);
+        }
+
+        return builder.toString();
+    }
+
+}
@@ -1,15 +1,25 @@
 package microservices.sample.authorities.controller;
 
-import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import javax.servlet.http.HttpServletRequest;
+import java.util.Set;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.result.UpdateResult;
 import com.querydsl.core.types.Predicate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.data.querydsl.binding.QuerydslPredicate;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.BindException;
@@ -21,11 +31,24 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import microservices.sample.authorities.model.QAuthority;
 import microservices.sample.authorities.model.Authority;
 import microservices.sample.authorities.repository.AuthorityRepository;
 import microservices.sample.authorities.service.AuthorityService;
+import microservices.sample.authorities.web.BatchGetRequest;
+import microservices.sample.authorities.web.BatchGetResult;
+import microservices.sample.authorities.web.BulkResult;
+import microservices.sample.authorities.web.CursorPage;
+import microservices.sample.authorities.web.CursorToken;
+import microservices.sample.authorities.web.ETags;
+import microservices.sample.authorities.web.FieldSelection;
+import microservices.sample.authorities.web.JsonStreams;
+import microservices.sample.authorities.web.PatchUpdate;
 
 /**
  * Rest controller for authorities.
@@ -35,6 +58,26 @@ import microservices.sample.authorities.service.AuthorityService;
  */
 @RestController
 public class AuthorityController {
+
+    /**
+     * Properties that authorities can be sorted by in cursor pages, all of them indexed.
+     */
+    private static final Set<String> CURSOR_SORTABLE = Set.of(CursorToken.ID, "name");
+
+    /**
+     * Fields that cannot be patched in bulk.
+     */
+    private static final Set<String> BULK_PATCH_PROTECTED_FIELDS = Set.of("id", "version");
+
+    /**
+     * Fields that cannot be patched.
+     */
+    private static final Set<String> PATCH_PROTECTED_FIELDS = Set.of("id", "version");
+
+    /**
+     * Maximum size of a cursor page.
+     */
+    private static final int CURSOR_MAX_SIZE = 1000;
     
     /**
      * Authority repository.
@@ -61,23 +104,37 @@ public class AuthorityController {
     private SpringValidatorAdapter validator;
 
     /**
-     * Get all authorities.
+     * Get all authorities, streamed as a JSON array.
      * 
      * @param predicate Predicate to filter authorities.
-     * @return List of authorities.
+     * @param fields Fields to return, comma separated.
+     * @return Stream of authorities.
      */
     @GetMapping
-    public Iterable<Authority> index(@QuerydslPredicate(root = Authority.class) Predicate predicate) {
+    public ResponseEntity<StreamingResponseBody> index(@QuerydslPredicate(root = Authority.class) Predicate predicate, @RequestParam(name = "fields", required = false) String fields) {
 
-        // If predicate is not null
-        if (predicate != null) {
+        // Select fields
+        FieldSelection selection = FieldSelection.parse(fields, Authority.class);
 
-            // Return objects filtered by predicate
-            return this.authorityRepository.findAll(predicate);
-        }
+        // Stream objects filtered by predicate, if any
+        return JsonStreams.array(this.objectMapper, () -> this.authorityRepository.stream(predicate, selection.toField()), authority -> selection.write(authority, this.objectMapper));
+    }
+
+    /**
+     * Get all authorities, streamed as newline delimited JSON.
+     * 
+     * @param predicate Predicate to filter authorities.
+     * @param fields Fields to return, comma separated.
+     * @return Stream of authorities.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> indexNdjson(@QuerydslPredicate(root = Authority.class) Predicate predicate, @RequestParam(name = "fields", required = false) String fields) {
 
-        // Return all objects
-        return this.authorityRepository.findAll();
+        // Select fields
+        FieldSelection selection = FieldSelection.parse(fields, Authority.class);
+
+        // Stream objects filtered by predicate, if any
+        return JsonStreams.ndjson(this.objectMapper, () -> this.authorityRepository.stream(predicate, selection.toField()), authority -> selection.write(authority, this.objectMapper));
     }
 
     /**
@@ -85,33 +142,127 @@ public class AuthorityController {
      * 
      * @param predicate Predicate to filter authorities.
      * @param pageable Pageable object to paginate authorities.
+     * @param fields Fields to return, comma separated.
      * @return Page of authorities.
      */
     @GetMapping("page")
-    public Page<Authority> page(@QuerydslPredicate(root = Authority.class) Predicate predicate, Pageable pageable) {
+    public Page<Object> page(@QuerydslPredicate(root = Authority.class) Predicate predicate, Pageable pageable, @RequestParam(name = "fields", required = false) String fields) {
+
+        // Select fields
+        FieldSelection selection = FieldSelection.parse(fields, Authority.class);
+
+        // Return page of objects filtered by predicate, if any
+        return this.authorityRepository.findPage(predicate, pageable, selection.toField()).map(authority -> selection.write(authority, this.objectMapper));
+    }
+
+    /**
+     * Get a slice of authorities, selected with count=none. The matching
+     * authorities are not counted, the response only tells whether there is a
+     * next slice.
+     * 
+     * @param predicate Predicate to filter authorities.
+     * @param pageable Pageable object to paginate authorities.
+     * @param fields Fields to return, comma separated.
+     * @return Slice of authorities.
+     */
+    @GetMapping(value = "page", params = "count=none")
+    public Slice<Object> slice(@QuerydslPredicate(root = Authority.class) Predicate predicate, Pageable pageable, @RequestParam(name = "fields", required = false) String fields) {
+
+        // Select fields
+        FieldSelection selection = FieldSelection.parse(fields, Authority.class);
 
-        // If predicate is not null
-        if (predicate != null) {
+        // Return slice of objects filtered by predicate, if any
+        return this.authorityRepository.findSlice(predicate, pageable, selection.toField()).map(authority -> selection.write(authority, this.objectMapper));
+    }
+
+    /**
+     * Get a page of authorities, selected with count=estimated. Without filters,
+     * the total is estimated from the collection metadata; with filters it is
+     * counted as usual.
+     * 
+     * @param predicate Predicate to filter authorities.
+     * @param pageable Pageable object to paginate authorities.
+     * @param fields Fields to return, comma separated.
+     * @return Page of authorities.
+     */
+    @GetMapping(value = "page", params = "count=estimated")
+    public Page<Object> pageEstimated(@QuerydslPredicate(root = Authority.class) Predicate predicate, Pageable pageable, @RequestParam(name = "fields", required = false) String fields) {
+
+        // Select fields
+        FieldSelection selection = FieldSelection.parse(fields, Authority.class);
+
+        // Return page of objects filtered by predicate, if any
+        return this.authorityRepository.findPageEstimated(predicate, pageable, selection.toField()).map(authority -> selection.write(authority, this.objectMapper));
+    }
+
+    /**
+     * Get a page of authorities after a cursor. Unlike {@link #page}, the cost
+     * of a page does not grow with its depth, and the total is only counted on
+     * request.
+     * 
+     * @param predicate Predicate to filter authorities.
+     * @param after Cursor returned by the previous page, if any.
+     * @param size Page size.
+     * @param count Whether to count the matching authorities.
+     * @param fields Fields to return, comma separated.
+     * @param sort Sort of the first page, by id or name.
+     * @return Page of authorities.
+     */
+    @GetMapping("cursor")
+    public CursorPage<Object> cursor(
+        @QuerydslPredicate(root = Authority.class) Predicate predicate,
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "size", defaultValue = "20") int size,
+        @RequestParam(name = "count", defaultValue = "false") boolean count,
+        @RequestParam(name = "fields", required = false) String fields,
+        Sort sort
+    ) {
+
+        // Continue from the cursor, or start in the requested order
+        CursorToken token = after != null ? CursorToken.decode(after, this.objectMapper) : CursorToken.start(sort, CURSOR_SORTABLE);
+
+        // If the cursor was not issued by this endpoint
+        if (!CURSOR_SORTABLE.contains(token.getProperty()) || token.getDirection() == null) {
 
-            // Return page of objects filtered by predicate
-            return this.authorityRepository.findAll(predicate, pageable);
+            // Throw exception
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
         }
 
-        // Return page of all objects
-        return this.authorityRepository.findAll(pageable);
+        // Select fields
+        FieldSelection selection = FieldSelection.parse(fields, Authority.class);
+
+        // Limit page size
+        int pageSize = Math.max(1, Math.min(size, CURSOR_MAX_SIZE));
+
+        // Fetch one more object to know if there is a next page
+        List<Authority> authorities = this.authorityRepository.findAfter(predicate, token.toOrder(), token.getValue(), token.getId(), pageSize + 1, selection.toField(token.getProperty()));
+
+        // Count objects, if requested
+        Long total = null;
+
+        if (count) {
+            total = predicate != null ? this.authorityRepository.count(predicate) : this.authorityRepository.count();
+        }
+
+        // Return page
+        return CursorPage.of(authorities, pageSize, token, total, this.objectMapper).map(authority -> selection.write(authority, this.objectMapper));
     }
 
     /**
      * Finds an authority by id.
      * 
      * @param id
+     * @param fields Fields to return, comma separated, or all of them.
      * @return
      */
     @GetMapping("{id}")
-    public ResponseEntity<Authority> get(@PathVariable("id") String id) {
+    public ResponseEntity<Object> get(@PathVariable("id") String id, @RequestParam(name = "fields", required = false) String fields) {
+
+        // Select fields
+        FieldSelection selection = FieldSelection.parse(fields, Authority.class);
 
         // Search object by id
-        Optional<Authority> optAuthority = this.authorityRepository.findById(id);
+        Optional<Authority> optAuthority = this.authorityRepository.findOne(QAuthority.authority1.id.eq(id), selection.toField("version"));
 
         // If the object is not found
         if (optAuthority.isEmpty()) {
@@ -123,8 +274,34 @@ public class AuthorityController {
         // Get the object
         Authority authority = optAuthority.get();
 
-        // Return the object
-        return new ResponseEntity<>(authority, HttpStatus.OK);
+        // Return the object with its entity tag, so unchanged objects are answered 304
+        return ETags.ok(selection.write(authority, this.objectMapper), authority.getVersion());
+    }
+
+    /**
+     * Finds many authorities by id with a single query. Results are returned in
+     * the order of the requested ids, marking the ones that were not found.
+     * 
+     * @param request Requested ids.
+     * @param fields Fields to return, comma separated, or all of them.
+     * @return Results.
+     */
+    @PostMapping("_batchGet")
+    public List<BatchGetResult> batchGet(@RequestBody BatchGetRequest request, @RequestParam(name = "fields", required = false) String fields) {
+
+        // Select fields
+        FieldSelection selection = FieldSelection.parse(fields, Authority.class);
+
+        // Objects found, by id
+        Map<String, Object> found = new HashMap<>();
+
+        // Search every object at once
+        try (CloseableIterator<Authority> authorities = this.authorityRepository.stream(QAuthority.authority1.id.in(request.distinctIds()), selection.toField())) {
+            authorities.forEachRemaining(authority -> found.put(authority.getId(), selection.write(authority, this.objectMapper)));
+        }
+
+        // Return results in request order
+        return BatchGetResult.inRequestOrder(request.getIds(), found);
     }
 
     /**
@@ -137,8 +314,9 @@ public class AuthorityController {
     @PostMapping
     public ResponseEntity<Authority> save(@RequestBody Authority authority) throws BindException {
 
-        // Remove id
+        // Remove id and version
         authority.setId(null);
+        authority.setVersion(null);
 
         // Create validation object
         BindingResult result = new BeanPropertyBindingResult(authority, "authority");
@@ -159,46 +337,130 @@ public class AuthorityController {
     }
 
     /**
-     * Patches an existing authority.
+     * Patches an existing authority with a single update of the sent fields, so
+     * concurrent patches of different fields do not overwrite each other.
      * 
-     * @param authority Authority to patch.
-     * @param request Request object containing patch data.
+     * @param id Authority id.
+     * @param version Version the authority must have, to reject changes made since it was read.
+     * @param ifMatch Entity tag the authority must have, instead of the version.
+     * @param changes New value of each field, null to remove it.
      * @return Patched authority.
-     * @throws IOException If the patch data is not valid.
-     * @throws BindException If the patched authority is not valid.
+     * @throws BindException If a patched value is not valid.
      */
     @PatchMapping("{id}")
-    public ResponseEntity<Authority> patch(@PathVariable("id") Authority authority, HttpServletRequest request) throws IOException, BindException {
+    public ResponseEntity<Authority> patch(@PathVariable("id") String id, @RequestParam(name = "version", required = false) Long version, @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch, @RequestBody Map<String, Object> changes) throws BindException {
 
-        // Patch old object
-        this.objectMapper.readerForUpdating(authority).readValue(request.getReader());
+        // If the version is sent as an entity tag, it takes precedence
+        if (ifMatch != null) {
+            version = ETags.parseIfMatch(ifMatch);
+        }
 
-        // Create validation object
-        BindingResult result = new BeanPropertyBindingResult(authority, "authority");
+        // Build update of the sent fields
+        Update update = PatchUpdate.toUpdate(changes, Authority.class, PATCH_PROTECTED_FIELDS, this.objectMapper, this.validator);
 
-        // Validate object
-        this.validator.validate(authority, result);
+        // Update object
+        Optional<Authority> optAuthority = this.authorityService.patch(id, version, update);
 
-        // If there are errors
-        if (result.hasErrors()) {
-            throw new BindException(result);
+        // If the object is not found
+        if (optAuthority.isEmpty()) {
+
+            // If the precondition of the entity tag failed
+            if (ifMatch != null) {
+
+                // Throw exception
+                throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED);
+            }
+
+            // If it exists with another version
+            if (version != null && this.authorityRepository.existsById(id)) {
+
+                // Throw exception
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Authority was modified");
+            }
+
+            // Throw exception
+            throw new ResponseStatusException(HttpStatus.NO_CONTENT);
         }
 
-        // Update object
-        this.authorityService.save(authority);
+        // Return object with its new entity tag
+        return ETags.ok(optAuthority.get(), optAuthority.get().getVersion());
+    }
 
-        // Return object
-        return new ResponseEntity<>(authority, HttpStatus.OK);
+    /**
+     * Deletes every authority matching a filter with a single query. The filter
+     * uses the same parameters as the listing endpoints and is required.
+     * 
+     * @param predicate Predicate to filter authorities.
+     * @param dryRun Whether to only count the matching authorities.
+     * @return Number of matching and deleted authorities.
+     */
+    @PostMapping("_bulkDelete")
+    public BulkResult bulkDelete(@QuerydslPredicate(root = Authority.class) Predicate predicate, @RequestParam(name = "dryRun", defaultValue = "false") boolean dryRun) {
+
+        // If there is no filter
+        if (predicate == null) {
+
+            // Throw exception
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A filter is required");
+        }
+
+        // If only counting
+        if (dryRun) {
+            return new BulkResult(true, this.authorityRepository.count(predicate), 0);
+        }
+
+        // Delete objects
+        long deleted = this.authorityRepository.deleteMany(predicate);
+
+        // Return result
+        return new BulkResult(false, deleted, deleted);
+    }
+
+    /**
+     * Sets fields of every authority matching a filter with a single query. The
+     * filter uses the same parameters as the listing endpoints and is
+     * required.
+     * 
+     * @param predicate Predicate to filter authorities.
+     * @param dryRun Whether to only count the matching authorities.
+     * @param changes New value of each field.
+     * @return Number of matching and modified authorities.
+     * @throws BindException If a patched value is not valid.
+     */
+    @PostMapping("_bulkPatch")
+    public BulkResult bulkPatch(@QuerydslPredicate(root = Authority.class) Predicate predicate, @RequestParam(name = "dryRun", defaultValue = "false") boolean dryRun, @RequestBody Map<String, Object> changes) throws BindException {
+
+        // If there is no filter
+        if (predicate == null) {
+
+            // Throw exception
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A filter is required");
+        }
+
+        // Build update
+        Update update = PatchUpdate.toUpdate(changes, Authority.class, BULK_PATCH_PROTECTED_FIELDS, this.objectMapper, this.validator);
+
+        // If only counting
+        if (dryRun) {
+            return new BulkResult(true, this.authorityRepository.count(predicate), 0);
+        }
+
+        // Update objects
+        UpdateResult result = this.authorityRepository.updateMany(predicate, update);
+
+        // Return result
+        return new BulkResult(false, result.getMatchedCount(), result.getModifiedCount());
     }
 
     /**
      * Deletes an authority.
      * 
      * @param id Authority id.
+     * @param ifMatch Entity tag the authority must have, to reject changes made since it was read.
      * @return Nothing.
      */
     @DeleteMapping("{id}")
-    public ResponseEntity<Void> delete(@PathVariable("id") String id) {
+    public ResponseEntity<Void> delete(@PathVariable("id") String id, @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         // Search object
         Optional<Authority> optAuthority = this.authorityRepository.findById(id);
 
@@ -206,14 +468,21 @@ public class AuthorityController {
         if (optAuthority.isEmpty()) {
 
             // Throw exception
-            throw new ResponseStatusException(HttpStatus.NO_CONTENT);
+            throw new ResponseStatusException(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.NO_CONTENT);
         }
 
         // Get object
         Authority authority = optAuthority.get();
 
-        // Delete object
-        this.authorityService.delete(authority);
+        // Check entity tag
+        ETags.checkIfMatch(ifMatch, authority.getVersion());
+
+        // Delete object, unless it was modified since it was read
+        try {
+            this.authorityService.delete(authority);
+        } catch (OptimisticLockingFailureException e) {
+            throw new ResponseStatusException(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT, "Authority was modified");
+        }
 
         // Return response
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
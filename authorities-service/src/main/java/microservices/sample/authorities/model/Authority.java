@@ -1,8 +1,12 @@
 package microservices.sample.authorities.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.security.core.GrantedAuthority;
+import microservices.sample.authorities.binding.BindingStrategy;
+import microservices.sample.authorities.binding.QueryBinding;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
@@ -15,6 +19,7 @@ import lombok.EqualsAndHashCode;
 @Data
 @EqualsAndHashCode(of = "id")
 @Document
+@CompoundIndex(name = "name_id", def = "{'name': 1, '_id': 1}")
 public class Authority implements GrantedAuthority {
     
     /**
@@ -23,9 +28,16 @@ public class Authority implements GrantedAuthority {
     @Id
     private String id;
 
+    /**
+     * Version of the authority, incremented on every write.
+     */
+    @Version
+    private Long version;
+
     /**
      * Authority name.
      */
+    @QueryBinding(BindingStrategy.PREFIX)
     private String name;
 
     @Override
@@ -0,0 +1,118 @@
+package microservices.sample.authorities.repository;
+
+import java.util.List;
+import java.util.Optional;
+import com.mongodb.client.result.UpdateResult;
+import com.querydsl.core.types.Predicate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Field;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+import microservices.sample.authorities.model.Authority;
+
+/**
+ * Custom queries for {@link Authority}s that are not covered by Spring Data.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+public interface AuthorityRepositoryCustom {
+
+    /**
+     * Opens a cursor over the authorities matching a predicate.
+     * 
+     * @param predicate the predicate, or null to match all authorities.
+     * @param fields the projection, or null to read whole documents.
+     * @return the cursor, which must be closed.
+     */
+    public CloseableIterator<Authority> stream(Predicate predicate, Field fields);
+
+    /**
+     * Finds an authority matching a predicate.
+     * 
+     * @param predicate the predicate.
+     * @param fields the projection, or null to read the whole document.
+     * @return the authority, if found.
+     */
+    public Optional<Authority> findOne(Predicate predicate, Field fields);
+
+    /**
+     * Finds a page of the authorities matching a predicate.
+     * 
+     * @param predicate the predicate, or null to match all authorities.
+     * @param pageable the page to fetch.
+     * @param fields the projection, or null to read whole documents.
+     * @return the page.
+     */
+    public Page<Authority> findPage(Predicate predicate, Pageable pageable, Field fields);
+
+    /**
+     * Finds the authorities matching a predicate that come after a position of
+     * an order, using the index of the sort key instead of skipping documents.
+     * Ties are broken by id.
+     * 
+     * @param predicate the predicate, or null to match all authorities.
+     * @param order the sort order.
+     * @param lastValue the sort key of the last authority returned, or null to start from the beginning.
+     * @param lastId the id of the last authority returned, or null to start from the beginning.
+     * @param limit the maximum number of authorities to return.
+     * @param fields the projection, or null to read whole documents.
+     * @return the authorities.
+     */
+    public List<Authority> findAfter(Predicate predicate, Sort.Order order, Object lastValue, String lastId, int limit, Field fields);
+
+    /**
+     * Finds a slice of the authorities matching a predicate, without counting them.
+     * One extra authority is fetched to know whether there is a next slice.
+     * 
+     * @param predicate the predicate, or null to match all authorities.
+     * @param pageable the page to fetch.
+     * @param fields the projection, or null to read whole documents.
+     * @return the slice.
+     */
+    public Slice<Authority> findSlice(Predicate predicate, Pageable pageable, Field fields);
+
+    /**
+     * Finds a page of the authorities matching a predicate. Without a predicate,
+     * the total is estimated from the collection metadata instead of counted.
+     * 
+     * @param predicate the predicate, or null to match all authorities.
+     * @param pageable the page to fetch.
+     * @param fields the projection, or null to read whole documents.
+     * @return the page.
+     */
+    public Page<Authority> findPageEstimated(Predicate predicate, Pageable pageable, Field fields);
+
+    /**
+     * Deletes the authorities matching a predicate with a single query.
+     * 
+     * @param predicate the predicate.
+     * @return the number of deleted authorities.
+     */
+    public long deleteMany(Predicate predicate);
+
+    /**
+     * Updates the authorities matching a predicate with a single query and
+     * increments their versions.
+     * 
+     * @param predicate the predicate.
+     * @param update the update.
+     * @return the result of the update.
+     */
+    public UpdateResult updateMany(Predicate predicate, Update update);
+
+    /**
+     * Applies an update to an authority with a single query and increments its
+     * version.
+     * 
+     * @param id the id of the authority.
+     * @param version the version the authority must have, or null to update any version.
+     * @param update the update.
+     * @return the updated authority, or empty if there is no authority with the id and version.
+     */
+    public Optional<Authority> findAndPatch(String id, Long version, Update update);
+
+}
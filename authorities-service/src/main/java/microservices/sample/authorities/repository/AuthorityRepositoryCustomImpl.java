@@ -0,0 +1,225 @@
+package microservices.sample.authorities.repository;
+
+import java.util.List;
+import java.util.Optional;
+import com.mongodb.client.result.UpdateResult;
+import com.querydsl.core.types.Predicate;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Field;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.repository.support.SpringDataMongodbQuery;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.data.util.CloseableIterator;
+import microservices.sample.authorities.model.Authority;
+
+/**
+ * Implementation of {@link AuthorityRepositoryCustom}.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+public class AuthorityRepositoryCustomImpl implements AuthorityRepositoryCustom {
+
+    /**
+     * Number of documents fetched per cursor round trip.
+     */
+    private static final int CURSOR_BATCH_SIZE = 500;
+
+    /**
+     * Name of the id property.
+     */
+    private static final String ID = "id";
+
+    /**
+     * Name of the version property.
+     */
+    private static final String VERSION = "version";
+
+    /**
+     * Mongo template.
+     */
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public CloseableIterator<Authority> stream(Predicate predicate, Field fields) {
+        // Build query
+        Query query = this.toQuery(predicate, fields).cursorBatchSize(CURSOR_BATCH_SIZE);
+
+        // Open cursor
+        return this.mongoTemplate.stream(query, Authority.class);
+    }
+
+    @Override
+    public Optional<Authority> findOne(Predicate predicate, Field fields) {
+        return Optional.ofNullable(this.mongoTemplate.findOne(this.toQuery(predicate, fields), Authority.class));
+    }
+
+    @Override
+    public Page<Authority> findPage(Predicate predicate, Pageable pageable, Field fields) {
+        // Build query
+        Query query = this.toQuery(predicate, fields);
+
+        // Find authorities
+        List<Authority> authorities = this.mongoTemplate.find(Query.of(query).with(pageable), Authority.class);
+
+        // Count only if the page does not tell the total already
+        return PageableExecutionUtils.getPage(authorities, pageable, () -> this.mongoTemplate.count(query, Authority.class));
+    }
+
+    @Override
+    public List<Authority> findAfter(Predicate predicate, Sort.Order order, Object lastValue, String lastId, int limit, Field fields) {
+        // Filter by predicate
+        Document filter = new PredicateSerializer(this.mongoTemplate).serialize(predicate);
+
+        // If continuing from a previous page
+        if (lastId != null) {
+
+            // Only keep the authorities after the last one
+            filter = new Document("$and", List.of(filter, seek(order, lastValue, lastId).getCriteriaObject()));
+        }
+
+        // Sort by the key, then by id
+        Sort sort = ID.equals(order.getProperty()) ? Sort.by(order) : Sort.by(order, new Sort.Order(order.getDirection(), ID));
+
+        // Find authorities
+        return this.mongoTemplate.find(toQuery(filter, fields).with(sort).limit(limit), Authority.class);
+    }
+
+    @Override
+    public Slice<Authority> findSlice(Predicate predicate, Pageable pageable, Field fields) {
+        // Fetch one more object than requested
+        Query query = this.toQuery(predicate, fields).with(pageable);
+
+        if (pageable.isPaged()) {
+            query.limit(pageable.getPageSize() + 1);
+        }
+
+        // Find authorities
+        List<Authority> authorities = this.mongoTemplate.find(query, Authority.class);
+
+        // If the extra object was found, there is a next slice
+        boolean hasNext = pageable.isPaged() && authorities.size() > pageable.getPageSize();
+
+        // Return slice
+        return new SliceImpl<>(hasNext ? authorities.subList(0, pageable.getPageSize()) : authorities, pageable, hasNext);
+    }
+
+    @Override
+    public Page<Authority> findPageEstimated(Predicate predicate, Pageable pageable, Field fields) {
+        // Build query
+        Query query = this.toQuery(predicate, fields);
+
+        // Find authorities
+        List<Authority> authorities = this.mongoTemplate.find(Query.of(query).with(pageable), Authority.class);
+
+        // Count only if the page does not tell the total already
+        return PageableExecutionUtils.getPage(authorities, pageable, () -> predicate == null
+            ? this.mongoTemplate.estimatedCount(Authority.class)
+            : this.mongoTemplate.count(query, Authority.class));
+    }
+
+    @Override
+    public long deleteMany(Predicate predicate) {
+        return this.mongoTemplate.remove(this.toQuery(predicate, null), Authority.class).getDeletedCount();
+    }
+
+    @Override
+    public UpdateResult updateMany(Predicate predicate, Update update) {
+        return this.mongoTemplate.updateMulti(this.toQuery(predicate, null), update.inc(VERSION, 1), Authority.class);
+    }
+
+    @Override
+    public Optional<Authority> findAndPatch(String id, Long version, Update update) {
+        // Match by id
+        Query query = Query.query(Criteria.where(ID).is(id));
+
+        // If the version is checked
+        if (version != null) {
+            query.addCriteria(Criteria.where(VERSION).is(version));
+        }
+
+        // Update and return the new state
+        return Optional.ofNullable(this.mongoTemplate.findAndModify(query, update.inc(VERSION, 1), FindAndModifyOptions.options().returnNew(true), Authority.class));
+    }
+
+    /**
+     * Builds the criteria matching the documents after a position of an order.
+     * 
+     * @param order the sort order.
+     * @param lastValue the sort key at the position.
+     * @param lastId the id at the position.
+     * @return the criteria.
+     */
+    private static Criteria seek(Sort.Order order, Object lastValue, String lastId) {
+        // If sorting by id only
+        if (ID.equals(order.getProperty())) {
+            return order.isAscending() ? Criteria.where(ID).gt(lastId) : Criteria.where(ID).lt(lastId);
+        }
+
+        // Greater key, or same key and greater id
+        if (order.isAscending()) {
+            return new Criteria().orOperator(
+                Criteria.where(order.getProperty()).gt(lastValue),
+                new Criteria().andOperator(Criteria.where(order.getProperty()).is(lastValue), Criteria.where(ID).gt(lastId))
+            );
+        }
+
+        // Lower key, or same key and lower id
+        return new Criteria().orOperator(
+            Criteria.where(order.getProperty()).lt(lastValue),
+            new Criteria().andOperator(Criteria.where(order.getProperty()).is(lastValue), Criteria.where(ID).lt(lastId))
+        );
+    }
+
+    /**
+     * Converts a predicate into a Mongo query, the same way the QueryDSL
+     * repository methods do.
+     * 
+     * @param predicate the predicate, or null to match all authorities.
+     * @param fields the projection, or null to read whole documents.
+     * @return the query.
+     */
+    private Query toQuery(Predicate predicate, Field fields) {
+        return toQuery(new PredicateSerializer(this.mongoTemplate).serialize(predicate), fields);
+    }
+
+    /**
+     * Builds a query from a filter and a projection.
+     * 
+     * @param filter the filter.
+     * @param fields the projection, or null to read whole documents.
+     * @return the query.
+     */
+    private static Query toQuery(Document filter, Field fields) {
+        return fields != null ? new BasicQuery(filter, fields.getFieldsObject()) : new BasicQuery(filter);
+    }
+
+    /**
+     * Exposes the predicate serialization of {@link SpringDataMongodbQuery}.
+     */
+    private static class PredicateSerializer extends SpringDataMongodbQuery<Authority> {
+
+        PredicateSerializer(MongoOperations operations) {
+            super(operations, Authority.class);
+        }
+
+        Document serialize(Predicate predicate) {
+            return this.createQuery(predicate);
+        }
+
+    }
+
+}
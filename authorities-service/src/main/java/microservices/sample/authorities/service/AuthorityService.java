@@ -1,6 +1,8 @@
 package microservices.sample.authorities.service;
 
+import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import microservices.sample.authorities.model.Authority;
 import microservices.sample.authorities.repository.AuthorityRepository;
@@ -30,6 +32,22 @@ public class AuthorityService {
         this.authorityRepository.save(authority);
     }
 
+    /**
+     * Patches an authority with a single update.
+     * 
+     * @param id Authority id.
+     * @param version Version the authority must have, or null to patch any version.
+     * @param update Update of the patched fields.
+     * @return Patched authority, or empty if there is no authority with the id and version.
+     */
+    public Optional<Authority> patch(String id, Long version, Update update) {
+        // Update object in database
+        Optional<Authority> optAuthority = this.authorityRepository.findAndPatch(id, version, update);
+
+        // Return updated object
+        return optAuthority;
+    }
+
     /**
      * Deletes an authority.
      * 
@@ -0,0 +1,90 @@
+package microservices.sample.authorities.web;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+
+/**
+ * Page of a keyset paginated listing.
+ * 
+ * @param <T> Type of the objects.
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Data
+public class CursorPage<T> {
+
+    /**
+     * Objects of the page.
+     */
+    private List<T> content;
+
+    /**
+     * Cursor of the next page, null on the last page.
+     */
+    private String next;
+
+    /**
+     * Total number of matching objects, only when requested.
+     */
+    private Long totalElements;
+
+    /**
+     * Builds a page from the objects fetched after a cursor.
+     * 
+     * @param <T> Type of the objects.
+     * @param fetched Objects fetched, one more than the page size if there is a next page.
+     * @param size Page size.
+     * @param token Cursor the objects were fetched after.
+     * @param totalElements Total number of matching objects, or null.
+     * @param objectMapper Jackson object mapper.
+     * @return Page.
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int size, CursorToken token, Long totalElements, ObjectMapper objectMapper) {
+        // Create page
+        CursorPage<T> page = new CursorPage<>();
+
+        // If there is a next page
+        if (fetched.size() > size) {
+
+            // Keep the page objects only
+            page.setContent(fetched.subList(0, size));
+
+            // Continue after the last one
+            page.setNext(token.after(fetched.get(size - 1)).encode(objectMapper));
+        } else {
+            page.setContent(fetched);
+        }
+
+        // Set total
+        page.setTotalElements(totalElements);
+
+        // Return page
+        return page;
+    }
+
+    /**
+     * Converts the objects of the page.
+     * 
+     * @param <R> Type of the converted objects.
+     * @param converter Converts each object.
+     * @return Page of the converted objects.
+     */
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> converter) {
+        // Create page
+        CursorPage<R> page = new CursorPage<>();
+
+        // Convert objects
+        page.setContent(this.content.stream().map(converter).collect(Collectors.toList()));
+
+        // Keep cursor and total
+        page.setNext(this.next);
+        page.setTotalElements(this.totalElements);
+
+        // Return page
+        return page;
+    }
+
+}
@@ -0,0 +1,188 @@
+package microservices.sample.authorities.web;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.data.mongodb.core.query.Field;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Fields requested with the fields parameter. The selection is pushed down
+ * to Mongo as a projection, and the same fields are the only ones written to
+ * the response.
+ * 
+ * Secret fields, the ones Jackson only reads, can never be selected. They are
+ * left out of the projection when every field is requested, so whole objects
+ * are written directly without reading their secrets.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+public final class FieldSelection {
+
+    /**
+     * Name of the id property, which is always included.
+     */
+    private static final String ID = "id";
+
+    /**
+     * Fields to include, empty to include all of them.
+     */
+    private final Set<String> included;
+
+    /**
+     * Fields to exclude from the projection when all the others are included.
+     */
+    private final Set<String> excluded;
+
+    private FieldSelection(Set<String> included, Set<String> excluded) {
+        this.included = included;
+        this.excluded = excluded;
+    }
+
+    /**
+     * Selection of every field.
+     * 
+     * @return Selection.
+     */
+    public static FieldSelection all() {
+        return new FieldSelection(Collections.emptySet(), Collections.emptySet());
+    }
+
+    /**
+     * Parses the fields parameter.
+     * 
+     * @param fields Comma separated field names, or null.
+     * @param type Type of the objects.
+     * @return Selection.
+     */
+    public static FieldSelection parse(String fields, Class<?> type) {
+        // Fields that are never written
+        Set<String> secret = secretFields(type);
+
+        // If no fields were requested
+        if (!StringUtils.hasText(fields)) {
+            return new FieldSelection(Collections.emptySet(), secret);
+        }
+
+        // Requested fields, always with the id
+        Set<String> included = Arrays.stream(fields.split(","))
+            .map(String::trim)
+            .filter(StringUtils::hasLength)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        included.add(ID);
+
+        // Check every field exists
+        for (String field : included) {
+
+            // If the field does not exist
+            if (ReflectionUtils.findField(type, field) == null) {
+
+                // Throw exception
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown field " + field);
+            }
+
+            // If the field is secret
+            if (secret.contains(field)) {
+
+                // Throw exception
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Field " + field + " cannot be selected");
+            }
+        }
+
+        // Return selection
+        return new FieldSelection(included, Collections.emptySet());
+    }
+
+    /**
+     * Whether every field is selected.
+     * 
+     * @return True if no projection is needed.
+     */
+    public boolean isAll() {
+        return this.included.isEmpty() && this.excluded.isEmpty();
+    }
+
+    /**
+     * Builds the Mongo projection of the selection.
+     * 
+     * @param required Fields that must be read even if not selected, such as sort keys.
+     * @return Projection, or null to read whole documents.
+     */
+    public Field toField(String... required) {
+        // If every field is selected
+        if (this.isAll()) {
+            return null;
+        }
+
+        // Create projection
+        Field field = new Field();
+
+        // If only some fields are selected
+        if (!this.included.isEmpty()) {
+            this.included.forEach(field::include);
+            Arrays.stream(required).forEach(field::include);
+        } else {
+            this.excluded.forEach(field::exclude);
+        }
+
+        // Return projection
+        return field;
+    }
+
+    /**
+     * Gets the view of an object that only has the selected fields.
+     * 
+     * @param value Object read with the projection of the selection.
+     * @param objectMapper Jackson object mapper.
+     * @return View to write to the response.
+     */
+    public Object write(Object value, ObjectMapper objectMapper) {
+        // If every field is selected, secrets are already left out by Jackson
+        if (this.included.isEmpty()) {
+            return value;
+        }
+
+        // Convert object
+        ObjectNode node = objectMapper.valueToTree(value);
+
+        // Only keep the selected fields
+        node.retain(this.included);
+
+        // Return view
+        return node;
+    }
+
+    /**
+     * Finds the fields of a type that Jackson reads but never writes.
+     * 
+     * @param type Type of the objects.
+     * @return Field names.
+     */
+    private static Set<String> secretFields(Class<?> type) {
+        // Secret fields
+        Set<String> secret = new LinkedHashSet<>();
+
+        // Add every write only field
+        ReflectionUtils.doWithFields(type, field -> {
+            JsonProperty property = field.getAnnotation(JsonProperty.class);
+
+            if (property != null && property.access() == JsonProperty.Access.WRITE_ONLY) {
+                secret.add(field.getName());
+            }
+        });
+
+        // Return fields
+        return secret;
+    }
+
+}
@@ -0,0 +1,31 @@
+package microservices.sample.clients.binding;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares how a string property of a model is matched when it is used as a
+ * filter in a {@code @QuerydslPredicate} request parameter.
+ * 
+ * Properties without this annotation keep the default binding of their
+ * repository.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Documented
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBinding {
+
+    /**
+     * The strategy used to match the property.
+     * 
+     * @return the binding strategy.
+     */
+    BindingStrategy value();
+
+}
@@ -1,15 +1,31 @@
 package microservices.sample.clients.controller;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import javax.annotation.PostConstruct;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.querydsl.core.types.Predicate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.data.querydsl.binding.QuerydslPredicate;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.validation.BeanPropertyBindingResult;
@@ -22,11 +38,26 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import microservices.sample.clients.model.QApplication;
 import microservices.sample.clients.model.Application;
+import microservices.sample.clients.model.ApplicationImportResult;
 import microservices.sample.clients.repository.ApplicationRepository;
+import microservices.sample.clients.service.ApplicationImportService;
 import microservices.sample.clients.service.ApplicationService;
+import microservices.sample.clients.web.BatchGetRequest;
+import microservices.sample.clients.web.BatchGetResult;
+import microservices.sample.clients.web.CursorPage;
+import microservices.sample.clients.web.CursorToken;
+import microservices.sample.clients.web.ETags;
+import microservices.sample.clients.web.FieldSelection;
+import microservices.sample.clients.web.JsonStreams;
+import microservices.sample.clients.web.PatchUpdate;
+import microservices.sample.clients.web.Secrets;
 
 /**
  * Rest controller for applications.
@@ -36,6 +67,21 @@ import microservices.sample.clients.service.ApplicationService;
  */
 @RestController
 public class ApplicationController {
+
+    /**
+     * Properties that applications can be sorted by in cursor pages, all of them indexed.
+     */
+    private static final Set<String> CURSOR_SORTABLE = Set.of(CursorToken.ID, "clientId");
+
+    /**
+     * Fields that cannot be patched.
+     */
+    private static final Set<String> PATCH_PROTECTED_FIELDS = Set.of("id", "version");
+
+    /**
+     * Maximum size of a cursor page.
+     */
+    private static final int CURSOR_MAX_SIZE = 1000;
     
     /**
      * Application repository.
@@ -49,6 +95,12 @@ public class ApplicationController {
     @Autowired
     private ApplicationService applicationService;
 
+    /**
+     * Application import service.
+     */
+    @Autowired
+    private ApplicationImportService applicationImportService;
+
     /**
      * Password encoder.
      */
@@ -61,6 +113,11 @@ public class ApplicationController {
     @Autowired
     private ObjectMapper objectMapper;
 
+    /**
+     * Jackson object mapper that also writes secret fields.
+     */
+    private ObjectMapper secretObjectMapper;
+
     /**
      * Spring validator.
      */
@@ -68,23 +125,45 @@ public class ApplicationController {
     private SpringValidatorAdapter validator;
 
     /**
-     * Get all applications.
+     * Creates the mapper that writes secret fields.
+     */
+    @PostConstruct
+    public void initializeSecretObjectMapper() {
+        this.secretObjectMapper = Secrets.revealing(this.objectMapper);
+    }
+
+    /**
+     * Get all applications, streamed as a JSON array.
      * 
      * @param predicate Predicate to filter applications.
-     * @return List of applications.
+     * @param fields Fields to return, comma separated.
+     * @return Stream of applications.
      */
     @GetMapping
-    public Iterable<Application> index(@QuerydslPredicate(root = Application.class) Predicate predicate) {
+    public ResponseEntity<StreamingResponseBody> index(@QuerydslPredicate(root = Application.class) Predicate predicate, @RequestParam(name = "fields", required = false) String fields) {
 
-        // If predicate is not null
-        if (predicate != null) {
+        // Select fields
+        FieldSelection selection = FieldSelection.parse(fields, Application.class);
 
-            // Return objects filtered by predicate
-            return this.applicationRepository.findAll(predicate);
-        }
+        // Stream objects filtered by predicate, if any
+        return JsonStreams.array(this.objectMapper, () -> this.applicationRepository.stream(predicate, selection.toField()), application -> selection.write(application, this.objectMapper));
+    }
+
+    /**
+     * Get all applications, streamed as newline delimited JSON.
+     * 
+     * @param predicate Predicate to filter applications.
+     * @param fields Fields to return, comma separated.
+     * @return Stream of applications.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> indexNdjson(@QuerydslPredicate(root = Application.class) Predicate predicate, @RequestParam(name = "fields", required = false) String fields) {
 
-        // Return all objects
-        return this.applicationRepository.findAll();
+        // Select fields
+        FieldSelection selection = FieldSelection.parse(fields, Application.class);
+
+        // Stream objects filtered by predicate, if any
+        return JsonStreams.ndjson(this.objectMapper, () -> this.applicationRepository.stream(predicate, selection.toField()), application -> selection.write(application, this.objectMapper));
     }
 
     /**
@@ -92,33 +171,139 @@ public class ApplicationController {
      * 
      * @param predicate Predicate to filter applications.
      * @param pageable Pageable object to paginate applications.
+     * @param fields Fields to return, comma separated.
      * @return Page of applications.
      */
     @GetMapping("page")
-    public Page<Application> page(@QuerydslPredicate(root = Application.class) Predicate predicate, Pageable pageable) {
+    public Page<Object> page(@QuerydslPredicate(root = Application.class) Predicate predicate, Pageable pageable, @RequestParam(name = "fields", required = false) String fields) {
+
+        // Select fields
+        FieldSelection selection = FieldSelection.parse(fields, Application.class);
+
+        // Return page of objects filtered by predicate, if any
+        return this.applicationRepository.findPage(predicate, pageable, selection.toField()).map(application -> selection.write(application, this.objectMapper));
+    }
+
+    /**
+     * Get a slice of applications, selected with count=none. The matching
+     * applications are not counted, the response only tells whether there is a
+     * next slice.
+     * 
+     * @param predicate Predicate to filter applications.
+     * @param pageable Pageable object to paginate applications.
+     * @param fields Fields to return, comma separated.
+     * @return Slice of applications.
+     */
+    @GetMapping(value = "page", params = "count=none")
+    public Slice<Object> slice(@QuerydslPredicate(root = Application.class) Predicate predicate, Pageable pageable, @RequestParam(name = "fields", required = false) String fields) {
 
-        // If predicate is not null
-        if (predicate != null) {
+        // Select fields
+        FieldSelection selection = FieldSelection.parse(fields, Application.class);
 
-            // Return page of objects filtered by predicate
-            return this.applicationRepository.findAll(predicate, pageable);
+        // Return slice of objects filtered by predicate, if any
+        return this.applicationRepository.findSlice(predicate, pageable, selection.toField()).map(application -> selection.write(application, this.objectMapper));
+    }
+
+    /**
+     * Get a page of applications, selected with count=estimated. Without filters,
+     * the total is estimated from the collection metadata; with filters it is
+     * counted as usual.
+     * 
+     * @param predicate Predicate to filter applications.
+     * @param pageable Pageable object to paginate applications.
+     * @param fields Fields to return, comma separated.
+     * @return Page of applications.
+     */
+    @GetMapping(value = "page", params = "count=estimated")
+    public Page<Object> pageEstimated(@QuerydslPredicate(root = Application.class) Predicate predicate, Pageable pageable, @RequestParam(name = "fields", required = false) String fields) {
+
+        // Select fields
+        FieldSelection selection = FieldSelection.parse(fields, Application.class);
+
+        // Return page of objects filtered by predicate, if any
+        return this.applicationRepository.findPageEstimated(predicate, pageable, selection.toField()).map(application -> selection.write(application, this.objectMapper));
+    }
+
+    /**
+     * Get a page of applications after a cursor. Unlike {@link #page}, the cost
+     * of a page does not grow with its depth, and the total is only counted on
+     * request.
+     * 
+     * @param predicate Predicate to filter applications.
+     * @param after Cursor returned by the previous page, if any.
+     * @param size Page size.
+     * @param count Whether to count the matching applications.
+     * @param fields Fields to return, comma separated.
+     * @param sort Sort of the first page, by id or clientId.
+     * @return Page of applications.
+     */
+    @GetMapping("cursor")
+    public CursorPage<Object> cursor(
+        @QuerydslPredicate(root = Application.class) Predicate predicate,
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "size", defaultValue = "20") int size,
+        @RequestParam(name = "count", defaultValue = "false") boolean count,
+        @RequestParam(name = "fields", required = false) String fields,
+        Sort sort
+    ) {
+
+        // Continue from the cursor, or start in the requested order
+        CursorToken token = after != null ? CursorToken.decode(after, this.objectMapper) : CursorToken.start(sort, CURSOR_SORTABLE);
+
+        // If the cursor was not issued by this endpoint
+        if (!CURSOR_SORTABLE.contains(token.getProperty()) || token.getDirection() == null) {
+
+            // Throw exception
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+
+        // Select fields
+        FieldSelection selection = FieldSelection.parse(fields, Application.class);
+
+        // Limit page size
+        int pageSize = Math.max(1, Math.min(size, CURSOR_MAX_SIZE));
+
+        // Fetch one more object to know if there is a next page
+        List<Application> applications = this.applicationRepository.findAfter(predicate, token.toOrder(), token.getValue(), token.getId(), pageSize + 1, selection.toField(token.getProperty()));
+
+        // Count objects, if requested
+        Long total = null;
+
+        if (count) {
+            total = predicate != null ? this.applicationRepository.count(predicate) : this.applicationRepository.count();
         }
 
-        // Return page of all objects
-        return this.applicationRepository.findAll(pageable);
+        // Return page
+        return CursorPage.of(applications, pageSize, token, total, this.objectMapper).map(application -> selection.write(application, this.objectMapper));
     }
 
     /**
      * Finds an application by id.
      * 
      * @param id Application id.
+     * @param fields Fields to return, comma separated, or all of them.
+     * @param secret Whether to write the secret fields, for the auth service.
      * @return Application.
      */
     @GetMapping("{id}")
-    public ResponseEntity<Application> get(@PathVariable("id") String id) {
+    public ResponseEntity<Object> get(
+        @PathVariable("id") String id,
+        @RequestParam(name = "fields", required = false) String fields,
+        @RequestParam(name = Secrets.PARAMETER, defaultValue = "false") boolean secret
+    ) {
 
-        // Search object by id
-        Optional<Application> optApplication = this.applicationRepository.findById(id);
+        // If secrets were requested along with a field selection
+        if (secret && fields != null) {
+
+            // Throw exception
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Fields cannot be selected with secrets");
+        }
+
+        // Select fields
+        FieldSelection selection = FieldSelection.parse(fields, Application.class);
+
+        // Search object by id, reading the secrets only if requested
+        Optional<Application> optApplication = this.applicationRepository.findOne(QApplication.application.id.eq(id), secret ? null : selection.toField("version"));
 
         // If the object is not found
         if (optApplication.isEmpty()) {
@@ -130,8 +315,64 @@ public class ApplicationController {
         // Get the object
         Application application = optApplication.get();
 
-        // Return the object
-        return new ResponseEntity<>(application, HttpStatus.OK);
+        // Return the object with its entity tag, so unchanged objects are answered 304
+        return ETags.ok(secret ? this.secretObjectMapper.valueToTree(application) : selection.write(application, this.objectMapper), application.getVersion());
+    }
+
+    /**
+     * Finds an application by its exact client id.
+     * 
+     * @param clientId Client id.
+     * @param secret Whether to write the secret fields, for the auth service.
+     * @return Application.
+     */
+    @GetMapping("by-client-id")
+    public ResponseEntity<Object> getByClientId(
+        @RequestParam("clientId") String clientId,
+        @RequestParam(name = Secrets.PARAMETER, defaultValue = "false") boolean secret
+    ) {
+
+        // Search object by client id
+        Optional<Application> optApplication = this.applicationRepository.findByClientId(clientId);
+
+        // If the object is not found
+        if (optApplication.isEmpty()) {
+
+            // Throw exception
+            throw new ResponseStatusException(HttpStatus.NO_CONTENT);
+        }
+
+        // Get the object
+        Application application = optApplication.get();
+
+        // Return the object with its entity tag, with its secrets if requested
+        return ETags.ok(secret ? this.secretObjectMapper.valueToTree(application) : application, application.getVersion());
+    }
+
+    /**
+     * Finds many applications by id with a single query. Results are returned in
+     * the order of the requested ids, marking the ones that were not found.
+     * 
+     * @param request Requested ids.
+     * @param fields Fields to return, comma separated, or all of them.
+     * @return Results.
+     */
+    @PostMapping("_batchGet")
+    public List<BatchGetResult> batchGet(@RequestBody BatchGetRequest request, @RequestParam(name = "fields", required = false) String fields) {
+
+        // Select fields
+        FieldSelection selection = FieldSelection.parse(fields, Application.class);
+
+        // Objects found, by id
+        Map<String, Object> found = new HashMap<>();
+
+        // Search every object at once
+        try (CloseableIterator<Application> applications = this.applicationRepository.stream(QApplication.application.id.in(request.distinctIds()), selection.toField())) {
+            applications.forEachRemaining(application -> found.put(application.getId(), selection.write(application, this.objectMapper)));
+        }
+
+        // Return results in request order
+        return BatchGetResult.inRequestOrder(request.getIds(), found);
     }
 
     /**
@@ -144,8 +385,9 @@ public class ApplicationController {
     @PostMapping
     public ResponseEntity<Application> save(@RequestBody Application application) throws BindException {
 
-        // Remove id
+        // Remove id and version
         application.setId(null);
+        application.setVersion(null);
 
         // Search object
         Optional<Application> optApplication = this.applicationRepository.findByClientId(application.getClientId());
@@ -179,56 +421,118 @@ public class ApplicationController {
     }
 
     /**
-     * Patches an existing application.
+     * Creates applications in bulk from newline delimited JSON, one
+     * application per line. The result of each line is streamed back as
+     * newline delimited JSON as soon as its batch is written.
      * 
-     * @param application Application to patch.
-     * @param request Request object containing patch data.
-     * @return Application.
-     * @throws IOException If the patch data is not valid.
-     * @throws BindException If the patched application is not valid.
+     * @param upsert Whether to update the applications whose client id already exists, instead of failing.
+     * @param request Request object containing the applications.
+     * @param response Response object receiving the results.
+     * @throws IOException If the request cannot be read or the response cannot be written.
+     */
+    @PostMapping(value = "_bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void bulk(@RequestParam(name = "upsert", defaultValue = "false") boolean upsert, HttpServletRequest request, HttpServletResponse response) throws IOException {
+
+        // Stream results
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream output = response.getOutputStream();
+
+        // Import applications
+        try {
+            this.applicationImportService.importApplications(request.getReader(), upsert, results -> {
+                try {
+                    // Write a line per result
+                    for (ApplicationImportResult result : results) {
+                        output.write(this.objectMapper.writeValueAsBytes(result));
+                        output.write('\n');
+                    }
+
+                    // Send the batch
+                    output.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Patches an existing application with a single update of the sent fields, so
+     * concurrent patches of different fields do not overwrite each other. The
+     * client secret, if sent, is ciphered.
+     * 
+     * @param id Application id.
+     * @param version Version the application must have, to reject changes made since it was read.
+     * @param ifMatch Entity tag the application must have, instead of the version.
+     * @param changes New value of each field, null to remove it.
+     * @return Patched application.
+     * @throws BindException If a patched value is not valid.
      */
     @PatchMapping("{id}")
-    public ResponseEntity<Application> patch(@PathVariable("id") Application application, HttpServletRequest request) throws IOException, BindException {
+    public ResponseEntity<Application> patch(@PathVariable("id") String id, @RequestParam(name = "version", required = false) Long version, @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch, @RequestBody Map<String, Object> changes) throws BindException {
 
-        // Get old password
-        String oldPassword = application.getClientSecret();
+        // If the version is sent as an entity tag, it takes precedence
+        if (ifMatch != null) {
+            version = ETags.parseIfMatch(ifMatch);
+        }
 
-        // Patch old object
-        this.objectMapper.readerForUpdating(application).readValue(request.getReader());
+        // Build update of the sent fields
+        Update update = PatchUpdate.toUpdate(changes, Application.class, PATCH_PROTECTED_FIELDS, this.objectMapper, this.validator);
 
-        // If the password was changed
-        if (!application.getClientSecret().equals(oldPassword)) {
+        // If the secret was changed
+        if (changes.containsKey("clientSecret")) {
 
-            // Cipher password
-            application.setClientSecret(this.passwordEncoder.encode(oldPassword));
+            // Cipher secret, unless it was removed
+            if (changes.get("clientSecret") != null) {
+                update.set("clientSecret", this.passwordEncoder.encode(changes.get("clientSecret").toString()));
+            }
         }
 
-        // Create validation object
-        BindingResult result = new BeanPropertyBindingResult(application, "application");
-
-        // Validate object
-        this.validator.validate(application, result);
+        // Update object
+        Optional<Application> optApplication;
 
-        // If there are errors
-        if (result.hasErrors()) {
-            throw new BindException(result);
+        try {
+            optApplication = this.applicationService.patch(id, version, update);
+        } catch (DuplicateKeyException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Application already exists");
         }
 
-        // Update object
-        this.applicationService.save(application);
+        // If the object is not found
+        if (optApplication.isEmpty()) {
 
-        // Return object
-        return new ResponseEntity<>(application, HttpStatus.OK);
+            // If the precondition of the entity tag failed
+            if (ifMatch != null) {
+
+                // Throw exception
+                throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED);
+            }
+
+            // If it exists with another version
+            if (version != null && this.applicationRepository.existsById(id)) {
+
+                // Throw exception
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Application was modified");
+            }
+
+            // Throw exception
+            throw new ResponseStatusException(HttpStatus.NO_CONTENT);
+        }
+
+        // Return object with its new entity tag
+        return ETags.ok(optApplication.get(), optApplication.get().getVersion());
     }
 
     /**
      * Deletes an application.
      * 
      * @param id Application id.
+     * @param ifMatch Entity tag the application must have, to reject changes made since it was read.
      * @return Nothing.
      */
     @DeleteMapping("{id}")
-    public ResponseEntity<Void> delete(@PathVariable("id") String id) {
+    public ResponseEntity<Void> delete(@PathVariable("id") String id, @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         // Search object
         Optional<Application> optApplication = this.applicationRepository.findById(id);
 
@@ -236,14 +540,21 @@ public class ApplicationController {
         if (optApplication.isEmpty()) {
 
             // Throw exception
-            throw new ResponseStatusException(HttpStatus.NO_CONTENT);
+            throw new ResponseStatusException(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.NO_CONTENT);
         }
 
         // Get object
         Application application = optApplication.get();
 
-        // Delete object
-        this.applicationService.delete(application);
+        // Check entity tag
+        ETags.checkIfMatch(ifMatch, application.getVersion());
+
+        // Delete object, unless it was modified since it was read
+        try {
+            this.applicationService.delete(application);
+        } catch (OptimisticLockingFailureException e) {
+            throw new ResponseStatusException(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT, "Application was modified");
+        }
 
         // Return response
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
@@ -3,11 +3,17 @@ package microservices.sample.clients.model;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Set;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.security.oauth2.core.AuthorizationGrantType;
 import org.springframework.security.oauth2.core.ClientAuthenticationMethod;
 import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import microservices.sample.clients.binding.BindingStrategy;
+import microservices.sample.clients.binding.QueryBinding;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
@@ -20,6 +26,7 @@ import lombok.EqualsAndHashCode;
 @Data
 @EqualsAndHashCode(of = "id")
 @Document
+@CompoundIndex(name = "clientId_id", def = "{'clientId': 1, '_id': 1}")
 public class Application {
 
     /**
@@ -28,9 +35,17 @@ public class Application {
     @Id
     private String id;
 
+    /**
+     * Version of the application, incremented on every write.
+     */
+    @Version
+    private Long version;
+
     /**
      * Client id.
      */
+    @Indexed(unique = true)
+    @QueryBinding(BindingStrategy.PREFIX)
 	private String clientId;
 
     /**
@@ -39,8 +54,9 @@ public class Application {
 	private Instant clientIdIssuedAt;
 
     /**
-     * Client secret.
+     * Client secret hash, read from requests but never written to responses.
      */
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
 	private String clientSecret;
 
     /**
@@ -0,0 +1,82 @@
+package microservices.sample.clients.model;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Notification sent to other services when an {@link Application} changes.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationChangeEvent {
+
+    /**
+     * Kind of change.
+     */
+    public enum Type {
+        SAVED,
+        DELETED,
+        BATCH
+    }
+
+    /**
+     * Kind of change.
+     */
+    private Type type;
+
+    /**
+     * Application id.
+     */
+    private String id;
+
+    /**
+     * Client id.
+     */
+    private String clientId;
+
+    /**
+     * Client id before the change, the same as the client id unless it was
+     * renamed, or null if the application was created.
+     */
+    private String previousClientId;
+
+    /**
+     * Version of the application after the change.
+     */
+    private Long version;
+
+    /**
+     * Changes of several applications, only of batch events.
+     */
+    private List<ApplicationChangeEvent> changes;
+
+    /**
+     * Creates an event describing a change of an application.
+     * 
+     * @param type Kind of change.
+     * @param application Changed application.
+     * @param previousClientId Client id before the change, or null if the application was created.
+     * @return Event.
+     */
+    public static ApplicationChangeEvent of(Type type, Application application, String previousClientId) {
+        return new ApplicationChangeEvent(type, application.getId(), application.getClientId(), previousClientId, application.getVersion(), null);
+    }
+
+    /**
+     * Creates an event grouping the changes of several applications, so they
+     * are delivered at once.
+     * 
+     * @param changes Changes.
+     * @return Event.
+     */
+    public static ApplicationChangeEvent batch(List<ApplicationChangeEvent> changes) {
+        return new ApplicationChangeEvent(Type.BATCH, null, null, null, null, changes);
+    }
+
+}
@@ -0,0 +1,63 @@
+package microservices.sample.clients.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+/**
+ * Result of one line of a bulk application import.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ApplicationImportResult {
+
+    /**
+     * Line of the request the application was read from, starting at 1.
+     */
+    private long line;
+
+    /**
+     * Client id, if the line could be read.
+     */
+    private String clientId;
+
+    /**
+     * What was done with the application.
+     */
+    private Status status;
+
+    /**
+     * Id of the created application.
+     */
+    private String id;
+
+    /**
+     * Reason the application was not saved.
+     */
+    private String error;
+
+    /**
+     * Import status.
+     */
+    public enum Status {
+
+        /**
+         * The application was created.
+         */
+        CREATED,
+
+        /**
+         * An existing application with the same client id was updated.
+         */
+        UPDATED,
+
+        /**
+         * The application was not saved.
+         */
+        FAILED
+
+    }
+
+}
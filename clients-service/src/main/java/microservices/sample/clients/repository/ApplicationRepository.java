@@ -7,6 +7,7 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.querydsl.binding.QuerydslBinderCustomizer;
 import org.springframework.data.querydsl.binding.QuerydslBindings;
+import microservices.sample.clients.binding.QueryBindingCustomizer;
 import microservices.sample.clients.model.Application;
 import microservices.sample.clients.model.QApplication;
 
@@ -16,14 +17,21 @@ import microservices.sample.clients.model.QApplication;
  * @author Matías Hermosilla
  * @since 04-09-2021
  */
-public interface ApplicationRepository extends MongoRepository<Application, String>, QuerydslPredicateExecutor<Application>, QuerydslBinderCustomizer<QApplication> {
+public interface ApplicationRepository extends MongoRepository<Application, String>, QuerydslPredicateExecutor<Application>, QuerydslBinderCustomizer<QApplication>, ApplicationRepositoryCustom {
 
+    /**
+     * Finds an application by its client id.
+     * 
+     * @param clientId the client id to search for.
+     * @return the application optional if found, otherwise empty optional.
+     */
     public Optional<Application> findByClientId(String clientId);
     
     @Override
     public default void customize(QuerydslBindings bindings, QApplication qModel) {
         bindings.bind(Long.class).first((NumberPath<Long> path, Long value) -> path.eq(value));
         bindings.bind(String.class).first((StringPath path, String value) -> path.containsIgnoreCase(value));
+        QueryBindingCustomizer.customize(bindings, qModel);
         bindings.excluding(qModel.clientSecret);
     }
 
@@ -0,0 +1,99 @@
+package microservices.sample.clients.repository;
+
+import java.util.List;
+import java.util.Optional;
+import com.querydsl.core.types.Predicate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Field;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+import microservices.sample.clients.model.Application;
+
+/**
+ * Custom queries for {@link Application}s that are not covered by Spring Data.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+public interface ApplicationRepositoryCustom {
+
+    /**
+     * Opens a cursor over the applications matching a predicate.
+     * 
+     * @param predicate the predicate, or null to match all applications.
+     * @param fields the projection, or null to read whole documents.
+     * @return the cursor, which must be closed.
+     */
+    public CloseableIterator<Application> stream(Predicate predicate, Field fields);
+
+    /**
+     * Finds an application matching a predicate.
+     * 
+     * @param predicate the predicate.
+     * @param fields the projection, or null to read the whole document.
+     * @return the application, if found.
+     */
+    public Optional<Application> findOne(Predicate predicate, Field fields);
+
+    /**
+     * Finds a page of the applications matching a predicate.
+     * 
+     * @param predicate the predicate, or null to match all applications.
+     * @param pageable the page to fetch.
+     * @param fields the projection, or null to read whole documents.
+     * @return the page.
+     */
+    public Page<Application> findPage(Predicate predicate, Pageable pageable, Field fields);
+
+    /**
+     * Finds the applications matching a predicate that come after a position of
+     * an order, using the index of the sort key instead of skipping documents.
+     * Ties are broken by id.
+     * 
+     * @param predicate the predicate, or null to match all applications.
+     * @param order the sort order.
+     * @param lastValue the sort key of the last application returned, or null to start from the beginning.
+     * @param lastId the id of the last application returned, or null to start from the beginning.
+     * @param limit the maximum number of applications to return.
+     * @param fields the projection, or null to read whole documents.
+     * @return the applications.
+     */
+    public List<Application> findAfter(Predicate predicate, Sort.Order order, Object lastValue, String lastId, int limit, Field fields);
+
+    /**
+     * Finds a slice of the applications matching a predicate, without counting them.
+     * One extran application is fetched to know whether there is a next slice.
+     * 
+     * @param predicate the predicate, or null to match all applications.
+     * @param pageable the page to fetch.
+     * @param fields the projection, or null to read whole documents.
+     * @return the slice.
+     */
+    public Slice<Application> findSlice(Predicate predicate, Pageable pageable, Field fields);
+
+    /**
+     * Finds a page of the applications matching a predicate. Without a predicate,
+     * the total is estimated from the collection metadata instead of counted.
+     * 
+     * @param predicate the predicate, or null to match all applications.
+     * @param pageable the page to fetch.
+     * @param fields the projection, or null to read whole documents.
+     * @return the page.
+     */
+    public Page<Application> findPageEstimated(Predicate predicate, Pageable pageable, Field fields);
+
+    /**
+     * Applies an update to an application with a single query and increments its
+     * version.
+     * 
+     * @param id the id of the application.
+     * @param version the version the application must have, or null to update any version.
+     * @param update the update.
+     * @return the updated application, or empty if there is no application with the id and version.
+     */
+    public Optional<Application> findAndPatch(String id, Long version, Update update);
+
+}
@@ -0,0 +1,21 @@
+package microservices.sample.clients.service;
+
+import microservices.sample.clients.model.ApplicationChangeEvent;
+
+/**
+ * Channel used to notify other services about {@link ApplicationChangeEvent}s.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+public interface ApplicationChangePublisher {
+
+    /**
+     * Publishes a change event. Delivery may happen after this returns, and
+     * failures are not reported to the caller.
+     * 
+     * @param event Event to publish.
+     */
+    public void publish(ApplicationChangeEvent event);
+
+}
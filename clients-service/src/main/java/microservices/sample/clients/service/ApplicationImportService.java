@@ -0,0 +1,425 @@
+package microservices.sample.clients.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import microservices.sample.clients.model.Application;
+import microservices.sample.clients.model.ApplicationChangeEvent;
+import microservices.sample.clients.model.ApplicationImportResult;
+
+/**
+ * Imports applications in bulk from newline delimited JSON.
+ *
+ * Lines are read in batches, so only one batch is held in memory. The
+ * applications of a batch are parsed, validated and have their secrets hashed
+ * on a fixed pool of workers, and are then written with a single unordered
+ * bulk operation keyed on the client id. Unordered writes of the same client
+ * id would race, so only the first line of each client id in a batch is
+ * written and the later ones are reported as duplicates.
+ *
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Service
+public class ApplicationImportService {
+
+    /**
+     * Mongo error code of duplicate keys.
+     */
+    private static final int DUPLICATE_KEY = 11000;
+
+    /**
+     * Jackson object mapper.
+     */
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Password encoder.
+     */
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    /**
+     * Spring validator.
+     */
+    @Autowired
+    private SpringValidatorAdapter validator;
+
+    /**
+     * Mongo template.
+     */
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * Publisher of application changes.
+     */
+    @Autowired
+    private ApplicationChangePublisher applicationChangePublisher;
+
+    /**
+     * Number of applications written per bulk operation.
+     */
+    @Value("${clients.import.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Number of workers hashing secrets, 0 to use one per processor.
+     */
+    @Value("${clients.import.workers:0}")
+    private int workers;
+
+    /**
+     * Workers that parse, validate and hash applications.
+     */
+    private ExecutorService executor;
+
+    /**
+     * Starts the workers.
+     */
+    @PostConstruct
+    public void initializeExecutor() {
+        // Number of workers
+        int threads = this.workers > 0 ? this.workers : Runtime.getRuntime().availableProcessors();
+
+        // Create workers
+        this.executor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("application-import-"));
+    }
+
+    /**
+     * Stops the workers.
+     */
+    @PreDestroy
+    public void shutdownExecutor() {
+        this.executor.shutdown();
+    }
+
+    /**
+     * Imports the applications of a newline delimited JSON document. Blank
+     * lines are skipped.
+     *
+     * @param reader Reader of the document.
+     * @param upsert Whether to update the applications whose client id already exists, instead of failing.
+     * @param sink Receives the results of each batch, in line order.
+     * @throws IOException If the document cannot be read.
+     */
+    public void importApplications(BufferedReader reader, boolean upsert, Consumer<List<ApplicationImportResult>> sink) throws IOException {
+        // Lines of the current batch
+        List<Item> batch = new ArrayList<>(this.batchSize);
+
+        // Current line number
+        long line = 0;
+
+        // Read every line
+        String text;
+
+        while ((text = reader.readLine()) != null) {
+            line++;
+
+            // If the line is blank
+            if (text.isBlank()) {
+                continue;
+            }
+
+            // Add line to batch
+            batch.add(new Item(line, text));
+
+            // If the batch is full
+            if (batch.size() >= this.batchSize) {
+                sink.accept(this.importBatch(batch, upsert));
+                batch = new ArrayList<>(this.batchSize);
+            }
+        }
+
+        // Import the last batch
+        if (!batch.isEmpty()) {
+            sink.accept(this.importBatch(batch, upsert));
+        }
+    }
+
+    /**
+     * Imports a batch of lines.
+     *
+     * @param batch Lines.
+     * @param upsert Whether to update existing applications.
+     * @return Results, in line order.
+     */
+    private List<ApplicationImportResult> importBatch(List<Item> batch, boolean upsert) {
+        // Parse, validate and hash every line on the workers
+        CompletableFuture.allOf(batch.stream()
+            .map(item -> CompletableFuture.runAsync(() -> this.prepare(item), this.executor))
+            .toArray(CompletableFuture[]::new))
+            .join();
+
+        // Applications that can be written, only the first line of each client id
+        List<Item> valid = new ArrayList<>(batch.size());
+        Map<String, Item> byClientId = new HashMap<>();
+
+        for (Item item : batch) {
+
+            // If the line failed
+            if (item.application == null) {
+                continue;
+            }
+
+            // If an earlier line of the batch has the same client id
+            Item first = byClientId.putIfAbsent(item.application.getClientId(), item);
+
+            if (first != null) {
+                item.fail("Duplicate of line " + first.result.getLine());
+            } else {
+                valid.add(item);
+            }
+        }
+
+        // Write applications
+        if (!valid.isEmpty()) {
+            this.write(valid, upsert);
+        }
+
+        // Return results
+        return batch.stream().map(item -> item.result).collect(Collectors.toList());
+    }
+
+    /**
+     * Parses, validates and hashes the application of a line. On failure, the
+     * result of the line is set and the application is left empty.
+     *
+     * @param item Line.
+     */
+    private void prepare(Item item) {
+        // Parse application
+        Application application;
+
+        try {
+            application = this.objectMapper.readValue(item.text, Application.class);
+        } catch (JsonProcessingException e) {
+            item.fail("Invalid JSON: " + e.getOriginalMessage());
+            return;
+        }
+
+        item.result.setClientId(application.getClientId());
+
+        // Remove id and version
+        application.setId(null);
+        application.setVersion(null);
+
+        // Create validation object
+        BindingResult result = new BeanPropertyBindingResult(application, "application");
+
+        // Validate object
+        this.validator.validate(application, result);
+
+        // If there are errors
+        if (result.hasErrors()) {
+            item.fail(result.getFieldErrors().stream()
+                .map(error -> error.getField() + " " + error.getDefaultMessage())
+                .collect(Collectors.joining(", ")));
+            return;
+        }
+
+        // If the application cannot be looked up
+        if (application.getClientId() == null) {
+            item.fail("Missing client id");
+            return;
+        }
+
+        // Cipher secret, public clients have none
+        if (application.getClientSecret() != null) {
+            application.setClientSecret(this.passwordEncoder.encode(application.getClientSecret()));
+        }
+
+        // Ready to write
+        item.application = application;
+    }
+
+    /**
+     * Writes applications with a single unordered bulk operation, sets the
+     * result of each of them and notifies the updated ones with a single
+     * event.
+     *
+     * @param items Lines with valid applications.
+     * @param upsert Whether to update existing applications.
+     */
+    private void write(List<Item> items, boolean upsert) {
+        // Ids of the applications that already exist, by client id
+        Map<String, String> existingIds = upsert ? this.findIds(items) : Map.of();
+
+        // Create bulk operation
+        BulkOperations operations = this.mongoTemplate.bulkOps(BulkMode.UNORDERED, Application.class);
+
+        // Add each application
+        for (Item item : items) {
+
+            // If updating existing applications
+            if (upsert) {
+                operations.upsert(Query.query(Criteria.where("clientId").is(item.application.getClientId())), this.toUpdate(item.application));
+            } else {
+
+                // Assign id and initial version here, so they can be reported
+                item.application.setId(new ObjectId().toHexString());
+                item.application.setVersion(0L);
+                operations.insert(item.application);
+            }
+        }
+
+        // Execute operation
+        BulkWriteResult result;
+        List<BulkWriteError> errors;
+
+        try {
+            result = operations.execute();
+            errors = List.of();
+        } catch (BulkOperationException e) {
+            result = e.getResult();
+            errors = e.getErrors();
+        }
+
+        // Errors by operation index
+        Map<Integer, BulkWriteError> errorsByIndex = new HashMap<>();
+        errors.forEach(error -> errorsByIndex.put(error.getIndex(), error));
+
+        // Created ids by operation index
+        Map<Integer, String> upsertedIds = new HashMap<>();
+        result.getUpserts().forEach(upserted -> upsertedIds.put(upserted.getIndex(), upserted.getId().asObjectId().getValue().toHexString()));
+
+        // Changes of the updated applications
+        List<ApplicationChangeEvent> changes = new ArrayList<>();
+
+        // Set results
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
+            BulkWriteError error = errorsByIndex.get(i);
+
+            // If the application was not written
+            if (error != null) {
+                item.fail(error.getCode() == DUPLICATE_KEY ? "Application already exists" : error.getMessage());
+            } else if (!upsert) {
+                item.succeed(ApplicationImportResult.Status.CREATED, item.application.getId());
+            } else if (upsertedIds.containsKey(i)) {
+                item.succeed(ApplicationImportResult.Status.CREATED, upsertedIds.get(i));
+            } else {
+                String id = existingIds.get(item.application.getClientId());
+                item.succeed(ApplicationImportResult.Status.UPDATED, id);
+                changes.add(new ApplicationChangeEvent(ApplicationChangeEvent.Type.SAVED, id, item.application.getClientId(), item.application.getClientId(), null, null));
+            }
+        }
+
+        // Notify subscribers once per batch, they may have cached the previous state
+        if (!changes.isEmpty()) {
+            this.applicationChangePublisher.publish(ApplicationChangeEvent.batch(changes));
+        }
+    }
+
+    /**
+     * Finds the ids of the applications of a batch that already exist.
+     *
+     * @param items Lines with valid applications.
+     * @return Ids by client id.
+     */
+    private Map<String, String> findIds(List<Item> items) {
+        // Client ids of the batch
+        List<String> clientIds = items.stream().map(item -> item.application.getClientId()).collect(Collectors.toList());
+
+        // Read only ids and client ids
+        Query query = Query.query(Criteria.where("clientId").in(clientIds));
+        query.fields().include("id").include("clientId");
+
+        // Return ids by client id
+        return this.mongoTemplate.find(query, Application.class).stream()
+            .collect(Collectors.toMap(Application::getClientId, Application::getId));
+    }
+
+    /**
+     * Builds the update that upserts an application and increments its
+     * version.
+     *
+     * @param application Application.
+     * @return Update.
+     */
+    private Update toUpdate(Application application) {
+        // Convert application
+        Document document = new Document();
+        this.mongoTemplate.getConverter().write(application, document);
+        document.remove("_id");
+        document.remove("version");
+
+        // Set each field
+        Update update = new Update();
+        document.forEach(update::set);
+
+        // Return update
+        return update.inc("version", 1);
+    }
+
+    /**
+     * Line being imported.
+     */
+    private static class Item {
+
+        /**
+         * Text of the line.
+         */
+        private final String text;
+
+        /**
+         * Result of the line.
+         */
+        private final ApplicationImportResult result = new ApplicationImportResult();
+
+        /**
+         * Application to write, once parsed, validated and hashed.
+         */
+        private Application application;
+
+        Item(long line, String text) {
+            this.text = text;
+            this.result.setLine(line);
+        }
+
+        void fail(String error) {
+            this.application = null;
+            this.result.setStatus(ApplicationImportResult.Status.FAILED);
+            this.result.setError(error);
+        }
+
+        void succeed(ApplicationImportResult.Status status, String id) {
+            this.result.setStatus(status);
+            this.result.setId(id);
+        }
+
+    }
+
+}
@@ -1,8 +1,11 @@
 package microservices.sample.clients.service;
 
+import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import microservices.sample.clients.model.Application;
+import microservices.sample.clients.model.ApplicationChangeEvent;
 import microservices.sample.clients.repository.ApplicationRepository;
 
 /**
@@ -20,14 +23,49 @@ public class ApplicationService {
     @Autowired
     private ApplicationRepository applicationRepository;
 
+    /**
+     * Publisher of application changes.
+     */
+    @Autowired
+    private ApplicationChangePublisher applicationChangePublisher;
+
     /**
      * Saves an application.
      * 
      * @param application Application to save.
      */
     public void save(Application application) {
+        // Client id before the change, if the application already exists
+        String previousClientId = application.getId() != null ? this.findClientId(application.getId()) : null;
+
         // Save object to database
         this.applicationRepository.save(application);
+
+        // Notify subscribers
+        this.applicationChangePublisher.publish(ApplicationChangeEvent.of(ApplicationChangeEvent.Type.SAVED, application, previousClientId));
+    }
+
+    /**
+     * Patches an application with a single update.
+     * 
+     * @param id Application id.
+     * @param version Version the application must have, or null to patch any version.
+     * @param update Update of the patched fields.
+     * @return Patched application, or empty if there is no application with the id and version.
+     */
+    public Optional<Application> patch(String id, Long version, Update update) {
+        // Client id before the change, read only if the patch renames it
+        String previousClientId = update.modifies("clientId") ? this.findClientId(id) : null;
+
+        // Update object in database
+        Optional<Application> optApplication = this.applicationRepository.findAndPatch(id, version, update);
+
+        // Notify subscribers
+        optApplication.ifPresent(application -> this.applicationChangePublisher.publish(ApplicationChangeEvent.of(ApplicationChangeEvent.Type.SAVED, application,
+            previousClientId != null ? previousClientId : application.getClientId())));
+
+        // Return updated object
+        return optApplication;
     }
 
     /**
@@ -38,6 +76,19 @@ public class ApplicationService {
     public void delete(Application application) {
         // Delete object from database
         this.applicationRepository.delete(application);
+
+        // Notify subscribers
+        this.applicationChangePublisher.publish(ApplicationChangeEvent.of(ApplicationChangeEvent.Type.DELETED, application, application.getClientId()));
+    }
+
+    /**
+     * Finds the stored client id of an application.
+     * 
+     * @param id Application id.
+     * @return Client id, or null if the application does not exist.
+     */
+    private String findClientId(String id) {
+        return this.applicationRepository.findById(id).map(Application::getClientId).orElse(null);
     }
     
 }
@@ -0,0 +1,145 @@
+package microservices.sample.clients.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import microservices.sample.clients.model.ApplicationChangeEvent;
+
+/**
+ * {@link ApplicationChangePublisher} that posts events to every registered
+ * instance of the subscribing service, as found in the discovery server.
+ * 
+ * Events are delivered after the write that caused them returns, by a
+ * single background worker, so they arrive in order and a slow subscriber
+ * never holds a write. When too many events are pending, new ones are
+ * dropped and the subscriber falls back to its cache TTL.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Service
+@ConditionalOnProperty(name = "clients.events.channel", havingValue = "discovery", matchIfMissing = true)
+public class DiscoveryApplicationChangePublisher implements ApplicationChangePublisher {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(DiscoveryApplicationChangePublisher.class);
+
+    /**
+     * Discovery client.
+     */
+    @Autowired
+    private DiscoveryClient discoveryClient;
+
+    /**
+     * Rest template builder.
+     */
+    @Autowired
+    private RestTemplateBuilder restTemplateBuilder;
+
+    /**
+     * Name of the service receiving the events.
+     */
+    @Value("${clients.events.subscriber:auth-service}")
+    private String subscriber;
+
+    /**
+     * Path where the subscriber receives the events.
+     */
+    @Value("${clients.events.path:/clients/changes}")
+    private String path;
+
+    /**
+     * Number of events waiting to be delivered before new ones are dropped.
+     */
+    @Value("${clients.events.queue-capacity:1000}")
+    private int queueCapacity;
+
+    /**
+     * Rest template used to deliver the events.
+     */
+    private RestTemplate restTemplate;
+
+    /**
+     * Worker that delivers the events.
+     */
+    private ThreadPoolExecutor executor;
+
+    /**
+     * Builds the rest template with short timeouts, so a slow subscriber does
+     * not hold back the following events.
+     */
+    @PostConstruct
+    public void initializeRestTemplate() {
+        this.restTemplate = this.restTemplateBuilder
+            .setConnectTimeout(Duration.ofSeconds(2))
+            .setReadTimeout(Duration.ofSeconds(2))
+            .build();
+    }
+
+    /**
+     * Starts the worker.
+     */
+    @PostConstruct
+    public void initializeExecutor() {
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(this.queueCapacity), new CustomizableThreadFactory("application-change-"));
+    }
+
+    /**
+     * Stops the worker.
+     */
+    @PreDestroy
+    public void shutdownExecutor() {
+        this.executor.shutdown();
+    }
+
+    @Override
+    public void publish(ApplicationChangeEvent event) {
+        try {
+            this.executor.execute(() -> this.deliver(event));
+        } catch (RejectedExecutionException e) {
+            // The subscriber falls back to its cache TTL
+            LOGGER.warn("Dropping {} change of application {}, too many changes are pending", event.getType(), event.getId());
+        }
+    }
+
+    /**
+     * Delivers an event to every instance of the subscriber.
+     * 
+     * @param event Event to deliver.
+     */
+    private void deliver(ApplicationChangeEvent event) {
+        // Find all instances of the subscriber
+        List<ServiceInstance> instances = this.discoveryClient.getInstances(this.subscriber);
+
+        // Deliver the event to each instance
+        for (ServiceInstance instance : instances) {
+            try {
+                this.restTemplate.postForLocation(instance.getUri().resolve(this.path), event);
+            } catch (RestClientException e) {
+                // The subscriber falls back to its cache TTL
+                LOGGER.warn("Could not deliver {} change of application {} to {}", event.getType(), event.getId(), instance.getUri(), e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,32 @@
+package microservices.sample.clients.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import microservices.sample.clients.model.ApplicationChangeEvent;
+
+/**
+ * {@link ApplicationChangePublisher} that delivers events inside the JVM
+ * through the Spring application event bus. Used in tests and local runs.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Service
+@ConditionalOnProperty(name = "clients.events.channel", havingValue = "local")
+public class LocalApplicationChangePublisher implements ApplicationChangePublisher {
+
+    /**
+     * Spring event publisher.
+     */
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void publish(ApplicationChangeEvent event) {
+        // Publish event in the application context
+        this.eventPublisher.publishEvent(event);
+    }
+
+}
@@ -0,0 +1,101 @@
+package microservices.sample.clients.web;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Entity tags derived from document versions, used for conditional requests.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+public final class ETags {
+
+    /**
+     * If-Match value that matches any version.
+     */
+    private static final String ANY = "*";
+
+    private ETags() {
+    }
+
+    /**
+     * Gets the entity tag of a version.
+     * 
+     * @param version Version, or null if the document has none yet.
+     * @return Entity tag, or null.
+     */
+    public static String of(Long version) {
+        return version != null ? "\"" + version + "\"" : null;
+    }
+
+    /**
+     * Builds an OK response with the entity tag of a version. GET requests
+     * whose If-None-Match has the same tag are answered 304 without a body.
+     * 
+     * @param <T> Type of the body.
+     * @param body Body.
+     * @param version Version of the body, or null if it has none.
+     * @return Response.
+     */
+    public static <T> ResponseEntity<T> ok(T body, Long version) {
+        // If there is no version
+        if (version == null) {
+            return ResponseEntity.ok(body);
+        }
+
+        // Return response with entity tag
+        return ResponseEntity.ok().eTag(of(version)).body(body);
+    }
+
+    /**
+     * Gets the version required by an If-Match header.
+     * 
+     * @param ifMatch Header value.
+     * @return Version, or null if any version matches.
+     */
+    public static Long parseIfMatch(String ifMatch) {
+        // Remove spaces
+        String tag = ifMatch.trim();
+
+        // If any version matches
+        if (ANY.equals(tag)) {
+            return null;
+        }
+
+        // If the tag is not one of ours, no version can match
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED);
+        }
+
+        // Parse version
+        try {
+            return Long.valueOf(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED);
+        }
+    }
+
+    /**
+     * Checks an If-Match header against the current version of a document.
+     * 
+     * @param ifMatch Header value, or null if not sent.
+     * @param version Current version.
+     */
+    public static void checkIfMatch(String ifMatch, Long version) {
+        // If the header was not sent
+        if (ifMatch == null) {
+            return;
+        }
+
+        // Required version
+        Long required = parseIfMatch(ifMatch);
+
+        // If the document has changed
+        if (required != null && !required.equals(version)) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED);
+        }
+    }
+
+}
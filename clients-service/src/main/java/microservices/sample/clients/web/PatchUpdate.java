@@ -0,0 +1,119 @@
+package microservices.sample.clients.web;
+
+import java.beans.Introspector;
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.Set;
+import javax.validation.ConstraintViolation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.validation.BindException;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Converts the body of a patch into a Mongo update, so that only the patched
+ * fields are written and the document does not have to be read first.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+public final class PatchUpdate {
+
+    private PatchUpdate() {
+    }
+
+    /**
+     * Builds the update that sets the patched fields. A null value unsets
+     * the field. Each value is validated against the constraints of its field.
+     * 
+     * @param changes New value of each field.
+     * @param type Type of the objects.
+     * @param protectedFields Fields that cannot be patched.
+     * @param objectMapper Jackson object mapper, used to convert the values.
+     * @param validator Spring validator.
+     * @return Update.
+     * @throws BindException If a value is not valid.
+     */
+    public static Update toUpdate(Map<String, Object> changes, Class<?> type, Set<String> protectedFields, ObjectMapper objectMapper, SpringValidatorAdapter validator) throws BindException {
+        // If there is nothing to change
+        if (changes == null || changes.isEmpty()) {
+
+            // Throw exception
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Missing fields to patch");
+        }
+
+        // Create update
+        Update update = new Update();
+
+        // Create validation object
+        BindingResult result = new MapBindingResult(changes, Introspector.decapitalize(type.getSimpleName()));
+
+        // Add each field
+        for (Map.Entry<String, Object> change : changes.entrySet()) {
+
+            // Find field
+            Field field = ReflectionUtils.findField(type, change.getKey());
+
+            // If the field does not exist
+            if (field == null) {
+
+                // Throw exception
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown field " + change.getKey());
+            }
+
+            // If the field cannot be patched
+            if (protectedFields.contains(field.getName())) {
+
+                // Throw exception
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Field " + field.getName() + " cannot be patched");
+            }
+
+            // Convert value to the type of the field
+            Object value = null;
+
+            // If the field is removed
+            if (change.getValue() == null) {
+
+                // If the field cannot be empty
+                if (field.getType().isPrimitive()) {
+
+                    // Throw exception
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Field " + field.getName() + " cannot be null");
+                }
+            } else {
+                try {
+                    value = objectMapper.convertValue(change.getValue(), objectMapper.constructType(field.getGenericType()));
+                } catch (IllegalArgumentException e) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid value of field " + field.getName());
+                }
+            }
+
+            // Validate value
+            for (ConstraintViolation<?> violation : validator.validateValue(type, field.getName(), value)) {
+                result.addError(new FieldError(result.getObjectName(), field.getName(), change.getValue(), false, null, null, violation.getMessage()));
+            }
+
+            // Set or unset field
+            if (value == null) {
+                update.unset(field.getName());
+            } else {
+                update.set(field.getName(), value);
+            }
+        }
+
+        // If there are errors
+        if (result.hasErrors()) {
+            throw new BindException(result);
+        }
+
+        // Return update
+        return update;
+    }
+
+}
@@ -0,0 +1,53 @@
+package microservices.sample.clients.web;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+
+/**
+ * Writing of secret fields. Secrets are marked as write only so Jackson never
+ * writes them, and are only revealed to the service that checks credentials
+ * through a mapper built here.
+ *
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+public final class Secrets {
+
+    /**
+     * Name of the parameter that asks for the secrets of an object.
+     */
+    public static final String PARAMETER = "secret";
+
+    private Secrets() {
+    }
+
+    /**
+     * Creates a copy of an object mapper that also writes secret fields.
+     *
+     * @param objectMapper Jackson object mapper.
+     * @return Mapper that writes secrets.
+     */
+    public static ObjectMapper revealing(ObjectMapper objectMapper) {
+        // Copy mapper
+        ObjectMapper revealing = objectMapper.copy();
+
+        // Read and write every write only property
+        revealing.setAnnotationIntrospector(new JacksonAnnotationIntrospector() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public JsonProperty.Access findPropertyAccess(Annotated annotated) {
+                JsonProperty.Access access = super.findPropertyAccess(annotated);
+                return access == JsonProperty.Access.WRITE_ONLY ? JsonProperty.Access.READ_WRITE : access;
+            }
+
+        });
+
+        // Return mapper
+        return revealing;
+    }
+
+}
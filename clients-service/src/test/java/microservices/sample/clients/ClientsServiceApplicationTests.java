@@ -3,7 +3,7 @@ package microservices.sample.clients;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "clients.events.channel=local")
 class ClientsServiceApplicationTests {
 
 	@Test
@@ -0,0 +1,154 @@
+package microservices.sample.groups.actuator;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.stereotype.Component;
+import lombok.Data;
+import microservices.sample.groups.config.MongoIndexInitializer;
+
+/**
+ * Actuator endpoint that compares the indexes declared by the models with the
+ * indexes of the database.
+ * 
+ * An index is reported as unused when the server has not used it since the
+ * statistics were last reset, which happens on every database restart.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Component
+@Endpoint(id = "indexes")
+public class IndexesEndpoint {
+
+    /**
+     * Name of the index every collection has on its id.
+     */
+    private static final String ID_INDEX = "_id_";
+
+    /**
+     * Mongo template.
+     */
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * Index initializer, which knows the declared indexes.
+     */
+    @Autowired
+    private MongoIndexInitializer indexInitializer;
+
+    /**
+     * Reports the indexes of every collection.
+     * 
+     * @return Report by collection name.
+     */
+    @ReadOperation
+    public Map<String, CollectionIndexes> indexes() {
+        // Reports by collection
+        Map<String, CollectionIndexes> reports = new LinkedHashMap<>();
+
+        // For each collection
+        this.indexInitializer.resolveIndexes().forEach((collection, definitions) -> {
+
+            // Create report
+            CollectionIndexes report = new CollectionIndexes();
+
+            // List existing indexes
+            for (Document index : this.mongoTemplate.getCollection(collection).listIndexes()) {
+                report.getExisting().put(index.getString("name"), index.get("key", Document.class));
+            }
+
+            // For each declared index
+            for (IndexDefinition definition : definitions) {
+
+                // Add it to the declared list
+                report.getDeclared().add(definition.getIndexKeys());
+
+                // If no existing index has the same keys
+                if (report.getExisting().values().stream().noneMatch(keys -> sameKeys(keys, definition.getIndexKeys()))) {
+                    report.getMissing().add(definition.getIndexKeys());
+                }
+            }
+
+            // For each usage statistic
+            for (Document stats : this.mongoTemplate.getCollection(collection).aggregate(List.of(new Document("$indexStats", new Document())))) {
+
+                // Get the number of operations that used the index
+                Number operations = stats.get("accesses", Document.class).get("ops", Number.class);
+
+                // If the index was never used
+                if (!ID_INDEX.equals(stats.getString("name")) && operations.longValue() == 0) {
+                    report.getUnused().add(stats.getString("name"));
+                }
+            }
+
+            // Store report
+            reports.put(collection, report);
+        });
+
+        // Return reports
+        return reports;
+    }
+
+    /**
+     * Compares index keys, in order and ignoring the numeric type of the directions.
+     * 
+     * @param a Index keys.
+     * @param b Index keys.
+     * @return Whether both indexes have the same keys.
+     */
+    private static boolean sameKeys(Document a, Document b) {
+        return normalize(a).equals(normalize(b));
+    }
+
+    /**
+     * Converts index keys to a comparable list.
+     * 
+     * @param keys Index keys.
+     * @return List of field and direction pairs.
+     */
+    private static List<String> normalize(Document keys) {
+        List<String> normalized = new ArrayList<>();
+
+        keys.forEach((field, direction) -> normalized.add(field + ":" + (direction instanceof Number ? ((Number) direction).intValue() : direction)));
+
+        return normalized;
+    }
+
+    /**
+     * Index report of a collection.
+     */
+    @Data
+    public static class CollectionIndexes {
+
+        /**
+         * Keys of the indexes declared by the model.
+         */
+        private List<Document> declared = new ArrayList<>();
+
+        /**
+         * Keys of the existing indexes, by name.
+         */
+        private Map<String, Document> existing = new LinkedHashMap<>();
+
+        /**
+         * Keys of the declared indexes that do not exist.
+         */
+        private List<Document> missing = new ArrayList<>();
+
+        /**
+         * Names of the existing indexes that have not been used.
+         */
+        private List<String> unused = new ArrayList<>();
+
+    }
+
+}
@@ -0,0 +1,76 @@
+package microservices.sample.groups.config;
+
+import javax.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationManagerResolver;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+import org.springframework.security.oauth2.server.resource.authentication.OpaqueTokenAuthenticationProvider;
+import org.springframework.security.oauth2.server.resource.introspection.OpaqueTokenIntrospector;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.DefaultBearerTokenResolver;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.util.StringUtils;
+
+/**
+ * Requires tokens of the authorization service on every request but health
+ * checks. JWTs are decoded by the caching decoder bean, other tokens are
+ * introspected when introspection is enabled.
+ *
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@EnableWebSecurity
+public class ResourceServerConfig {
+
+    @Bean
+    public SecurityFilterChain resourceServerSecurityFilterChain(HttpSecurity http, JwtDecoder jwtDecoder, ObjectProvider<OpaqueTokenIntrospector> introspector) throws Exception {
+        return http
+            .csrf().disable()
+            .sessionManagement()
+                .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                .and()
+            .authorizeRequests()
+                .antMatchers("/actuator/health/**", "/actuator/info")
+                    .permitAll()
+                .anyRequest()
+                    .authenticated()
+                .and()
+            .oauth2ResourceServer()
+                .authenticationManagerResolver(authenticationManagerResolver(jwtDecoder, introspector.getIfAvailable()))
+                .and()
+            .build();
+    }
+
+    /**
+     * Chooses how the bearer token of each request is authenticated, by its
+     * format.
+     * 
+     * @param jwtDecoder Decoder of JWTs.
+     * @param introspector Introspector of other tokens, or null if disabled.
+     * @return Resolver.
+     */
+    private static AuthenticationManagerResolver<HttpServletRequest> authenticationManagerResolver(JwtDecoder jwtDecoder, OpaqueTokenIntrospector introspector) {
+        // Authenticate JWTs locally
+        AuthenticationManager jwt = new ProviderManager(new JwtAuthenticationProvider(jwtDecoder));
+
+        // If introspection is disabled, every token must be a JWT
+        if (introspector == null) {
+            return request -> jwt;
+        }
+
+        // Authenticate other tokens with the authorization service
+        AuthenticationManager opaque = new ProviderManager(new OpaqueTokenAuthenticationProvider(introspector));
+        BearerTokenResolver tokenResolver = new DefaultBearerTokenResolver();
+
+        // A signed JWT has three dot separated parts
+        return request -> StringUtils.countOccurrencesOf(tokenResolver.resolve(request), ".") == 2 ? jwt : opaque;
+    }
+
+}
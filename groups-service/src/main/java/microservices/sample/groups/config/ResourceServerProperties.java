@@ -0,0 +1,154 @@
+package microservices.sample.groups.config;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import lombok.Data;
+
+/**
+ * Settings of the validation of the tokens issued by the authorization
+ * service.
+ *
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "resource-server")
+public class ResourceServerProperties {
+
+    /**
+     * Location of the keys of the authorization service.
+     */
+    private String jwkSetUri = "http://auth-service:8080/oauth2/jwks";
+
+    /**
+     * Issuer tokens must have, or empty to accept any.
+     */
+    private String issuer;
+
+    /**
+     * Algorithms tokens may be signed with.
+     */
+    private List<SignatureAlgorithm> algorithms = List.of(SignatureAlgorithm.RS256, SignatureAlgorithm.ES256);
+
+    /**
+     * Cache of the keys of the authorization service.
+     */
+    private JwkSet jwkSet = new JwkSet();
+
+    /**
+     * Cache of validated tokens, keyed by token hash.
+     */
+    private Tokens tokens = new Tokens();
+
+    /**
+     * Introspection of tokens that are not JWTs.
+     */
+    private Introspection introspection = new Introspection();
+
+    /**
+     * Key cache settings.
+     */
+    @Data
+    public static class JwkSet {
+
+        /**
+         * Time after which the keys are fetched again in the background on
+         * their next use. The cached keys are used meanwhile, and kept if the
+         * authorization service cannot be reached.
+         */
+        private Duration refreshAfter = Duration.ofMinutes(5);
+
+        /**
+         * Minimum time between fetches caused by tokens signed with an
+         * unknown key, so forged key ids cannot flood the authorization
+         * service.
+         */
+        private Duration unknownKeyRefreshInterval = Duration.ofSeconds(30);
+
+        /**
+         * Connect timeout of fetches.
+         */
+        private Duration connectTimeout = Duration.ofSeconds(2);
+
+        /**
+         * Read timeout of fetches.
+         */
+        private Duration readTimeout = Duration.ofSeconds(2);
+
+    }
+
+    /**
+     * Validated token cache settings.
+     */
+    @Data
+    public static class Tokens {
+
+        /**
+         * Maximum number of tokens kept.
+         */
+        private long maximumSize = 10_000;
+
+        /**
+         * Time after which a validated token is verified again, unless it
+         * expires earlier. Bounds how long a token signed with a withdrawn key
+         * is still accepted.
+         */
+        private Duration timeToLive = Duration.ofMinutes(1);
+
+    }
+
+    /**
+     * Token introspection settings.
+     */
+    @Data
+    public static class Introspection {
+
+        /**
+         * Whether tokens that are not JWTs are introspected, instead of
+         * rejected.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Introspection endpoint of the authorization service.
+         */
+        private String uri = "http://auth-service:8080/oauth2/introspect";
+
+        /**
+         * Client id this service authenticates with.
+         */
+        private String clientId;
+
+        /**
+         * Client secret this service authenticates with.
+         */
+        private String clientSecret;
+
+        /**
+         * Connect timeout of introspection requests.
+         */
+        private Duration connectTimeout = Duration.ofSeconds(2);
+
+        /**
+         * Read timeout of introspection requests.
+         */
+        private Duration readTimeout = Duration.ofSeconds(2);
+
+        /**
+         * Maximum number of introspection results kept.
+         */
+        private long maximumSize = 10_000;
+
+        /**
+         * Time an active token is accepted without asking again, unless it
+         * expires earlier. Bounds how long a revoked token is still accepted.
+         */
+        private Duration maxStaleness = Duration.ofSeconds(30);
+
+    }
+
+}
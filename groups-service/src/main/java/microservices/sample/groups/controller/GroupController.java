@@ -0,0 +1,148 @@
+package microservices.sample.groups.controller;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.result.UpdateResult;
+import com.querydsl.core.types.Predicate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.querydsl.binding.QuerydslPredicate;
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.BindException;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import microservices.sample.groups.model.Group;
+import microservices.sample.groups.model.QGroup;
+import microservices.sample.groups.repository.GroupRepository;
+import microservices.sample.groups.web.BatchGetRequest;
+import microservices.sample.groups.web.BatchGetResult;
+import microservices.sample.groups.web.BulkResult;
+import microservices.sample.groups.web.PatchUpdate;
+
+/**
+ * Rest controller for groups.
+ *
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@RestController
+public class GroupController {
+
+    /**
+     * Fields that cannot be patched in bulk.
+     */
+    private static final Set<String> BULK_PATCH_PROTECTED_FIELDS = Set.of("id", "version", "createdDate", "lastModifiedDate");
+
+    /**
+     * Group repository.
+     */
+    @Autowired
+    private GroupRepository groupRepository;
+
+    /**
+     * Jackson object mapper.
+     */
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Spring validator.
+     */
+    @Autowired
+    private SpringValidatorAdapter validator;
+
+    /**
+     * Finds many groups by id with a single query. Results are returned in
+     * the order of the requested ids, marking the ones that were not found.
+     *
+     * @param request Requested ids.
+     * @return Results.
+     */
+    @PostMapping("_batchGet")
+    public List<BatchGetResult> batchGet(@RequestBody BatchGetRequest request) {
+
+        // Objects found, by id
+        Map<String, Object> found = new HashMap<>();
+
+        // Search every object at once
+        for (Group group : this.groupRepository.findAll(QGroup.group.id.in(request.distinctIds()))) {
+            found.put(group.getId(), group);
+        }
+
+        // Return results in request order
+        return BatchGetResult.inRequestOrder(request.getIds(), found);
+    }
+
+    /**
+     * Deletes every group matching a filter with a single query. The filter
+     * is required.
+     * 
+     * @param predicate Predicate to filter groups.
+     * @param dryRun Whether to only count the matching groups.
+     * @return Number of matching and deleted groups.
+     */
+    @PostMapping("_bulkDelete")
+    public BulkResult bulkDelete(@QuerydslPredicate(root = Group.class) Predicate predicate, @RequestParam(name = "dryRun", defaultValue = "false") boolean dryRun) {
+
+        // If there is no filter
+        if (predicate == null) {
+
+            // Throw exception
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A filter is required");
+        }
+
+        // If only counting
+        if (dryRun) {
+            return new BulkResult(true, this.groupRepository.count(predicate), 0);
+        }
+
+        // Delete objects
+        long deleted = this.groupRepository.deleteMany(predicate);
+
+        // Return result
+        return new BulkResult(false, deleted, deleted);
+    }
+
+    /**
+     * Sets fields of every group matching a filter with a single query. The
+     * filter is required.
+     * 
+     * @param predicate Predicate to filter groups.
+     * @param dryRun Whether to only count the matching groups.
+     * @param changes New value of each field.
+     * @return Number of matching and modified groups.
+     * @throws BindException If a patched value is not valid.
+     */
+    @PostMapping("_bulkPatch")
+    public BulkResult bulkPatch(@QuerydslPredicate(root = Group.class) Predicate predicate, @RequestParam(name = "dryRun", defaultValue = "false") boolean dryRun, @RequestBody Map<String, Object> changes) throws BindException {
+
+        // If there is no filter
+        if (predicate == null) {
+
+            // Throw exception
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A filter is required");
+        }
+
+        // Build update
+        Update update = PatchUpdate.toUpdate(changes, Group.class, BULK_PATCH_PROTECTED_FIELDS, this.objectMapper, this.validator);
+
+        // If only counting
+        if (dryRun) {
+            return new BulkResult(true, this.groupRepository.count(predicate), 0);
+        }
+
+        // Update objects
+        UpdateResult result = this.groupRepository.updateMany(predicate, update);
+
+        // Return result
+        return new BulkResult(false, result.getMatchedCount(), result.getModifiedCount());
+    }
+
+}
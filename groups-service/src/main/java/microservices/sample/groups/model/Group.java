@@ -4,7 +4,10 @@ import java.time.ZonedDateTime;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
+import microservices.sample.groups.binding.BindingStrategy;
+import microservices.sample.groups.binding.QueryBinding;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
@@ -19,9 +22,16 @@ public class Group {
     @Id
     private String id;
 
+    /**
+     * Version of the group, incremented on every write.
+     */
+    @Version
+    private Long version;
+
     /**
      * Group name.
      */
+    @QueryBinding(BindingStrategy.PREFIX)
     private String name;
 
     /**
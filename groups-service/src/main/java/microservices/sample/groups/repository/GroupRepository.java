@@ -6,6 +6,7 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.querydsl.binding.QuerydslBinderCustomizer;
 import org.springframework.data.querydsl.binding.QuerydslBindings;
+import microservices.sample.groups.binding.QueryBindingCustomizer;
 import microservices.sample.groups.model.Group;
 import microservices.sample.groups.model.QGroup;
 
@@ -15,12 +16,13 @@ import microservices.sample.groups.model.QGroup;
  * @author Matías Hermosilla
  * @since 04-09-2021
  */
-public interface GroupRepository extends MongoRepository<Group, String>, QuerydslPredicateExecutor<Group>, QuerydslBinderCustomizer<QGroup> {
+public interface GroupRepository extends MongoRepository<Group, String>, QuerydslPredicateExecutor<Group>, QuerydslBinderCustomizer<QGroup>, GroupRepositoryCustom {
 
     @Override
     public default void customize(QuerydslBindings bindings, QGroup qModel) {
         bindings.bind(Long.class).first((NumberPath<Long> path, Long value) -> path.eq(value));
         bindings.bind(String.class).first((StringPath path, String value) -> path.containsIgnoreCase(value));
+        QueryBindingCustomizer.customize(bindings, qModel);
     }
     
 }
@@ -0,0 +1,33 @@
+package microservices.sample.groups.repository;
+
+import com.mongodb.client.result.UpdateResult;
+import com.querydsl.core.types.Predicate;
+import org.springframework.data.mongodb.core.query.Update;
+import microservices.sample.groups.model.Group;
+
+/**
+ * Custom queries for {@link Group}s that are not covered by Spring Data.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+public interface GroupRepositoryCustom {
+
+    /**
+     * Deletes the groups matching a predicate with a single query.
+     * 
+     * @param predicate the predicate.
+     * @return the number of deleted groups.
+     */
+    public long deleteMany(Predicate predicate);
+
+    /**
+     * Updates the groups matching a predicate with a single query.
+     * 
+     * @param predicate the predicate.
+     * @param update the update.
+     * @return the result of the update.
+     */
+    public UpdateResult updateMany(Predicate predicate, Update update);
+
+}
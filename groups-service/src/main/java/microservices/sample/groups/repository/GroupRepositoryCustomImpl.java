@@ -0,0 +1,70 @@
+package microservices.sample.groups.repository;
+
+import com.mongodb.client.result.UpdateResult;
+import com.querydsl.core.types.Predicate;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.repository.support.SpringDataMongodbQuery;
+import microservices.sample.groups.model.Group;
+
+/**
+ * Implementation of {@link GroupRepositoryCustom}.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+public class GroupRepositoryCustomImpl implements GroupRepositoryCustom {
+
+    /**
+     * Name of the version property.
+     */
+    private static final String VERSION = "version";
+
+    /**
+     * Mongo template.
+     */
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public long deleteMany(Predicate predicate) {
+        return this.mongoTemplate.remove(this.toQuery(predicate), Group.class).getDeletedCount();
+    }
+
+    @Override
+    public UpdateResult updateMany(Predicate predicate, Update update) {
+        return this.mongoTemplate.updateMulti(this.toQuery(predicate), update.inc(VERSION, 1), Group.class);
+    }
+
+    /**
+     * Converts a predicate into a Mongo query, the same way the QueryDSL
+     * repository methods do.
+     * 
+     * @param predicate the predicate.
+     * @return the query.
+     */
+    private Query toQuery(Predicate predicate) {
+        return new BasicQuery(new PredicateSerializer(this.mongoTemplate).serialize(predicate));
+    }
+
+    /**
+     * Exposes the predicate serialization of {@link SpringDataMongodbQuery}.
+     */
+    private static class PredicateSerializer extends SpringDataMongodbQuery<Group> {
+
+        PredicateSerializer(MongoOperations operations) {
+            super(operations, Group.class);
+        }
+
+        Document serialize(Predicate predicate) {
+            return this.createQuery(predicate);
+        }
+
+    }
+
+}
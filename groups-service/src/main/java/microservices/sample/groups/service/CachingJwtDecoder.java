@@ -0,0 +1,181 @@
+package microservices.sample.groups.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import microservices.sample.groups.config.ResourceServerProperties;
+
+/**
+ * {@link JwtDecoder} that verifies tokens against the cached keys of the
+ * authorization service, and keeps the tokens it validated for a short time.
+ * 
+ * Clients repeat the same bearer token on every call until it expires, so
+ * cached tokens skip parsing and signature verification. Tokens are cached
+ * by the hash of their value, never past their expiration, and failures are
+ * not cached.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Service
+public class CachingJwtDecoder implements JwtDecoder {
+
+    /**
+     * Name of the cache in the published metrics.
+     */
+    private static final String CACHE_NAME = "validated-tokens";
+
+    /**
+     * Resource server settings.
+     */
+    @Autowired
+    private ResourceServerProperties properties;
+
+    /**
+     * Keys of the authorization service.
+     */
+    @Autowired
+    private CachingJwkSource jwkSource;
+
+    /**
+     * Registry where the cache metrics are published.
+     */
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Decoder that verifies and validates tokens.
+     */
+    private JwtDecoder delegate;
+
+    /**
+     * Validated tokens, by hash.
+     */
+    private Cache<String, Jwt> tokens;
+
+    /**
+     * Builds the decoder and the cache, and binds the cache metrics.
+     */
+    @PostConstruct
+    public void initialize() {
+        // Accepted algorithms
+        Set<JWSAlgorithm> algorithms = this.properties.getAlgorithms().stream()
+            .map(algorithm -> JWSAlgorithm.parse(algorithm.getName()))
+            .collect(Collectors.toSet());
+
+        // Verify signatures with the cached keys, claims are validated by the decoder
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(algorithms, this.jwkSource));
+        processor.setJWTClaimsSetVerifier((claims, context) -> { });
+
+        // Validate timestamps, and the issuer if configured
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(processor);
+        String issuer = this.properties.getIssuer();
+        decoder.setJwtValidator(StringUtils.hasText(issuer) ? JwtValidators.createDefaultWithIssuer(issuer) : JwtValidators.createDefault());
+        this.delegate = decoder;
+
+        // Build cache
+        this.tokens = Caffeine.newBuilder()
+            .maximumSize(this.properties.getTokens().getMaximumSize())
+            .expireAfter(new TokenExpiry(this.properties.getTokens().getTimeToLive()))
+            .recordStats()
+            .build();
+
+        // Publish hit, miss and eviction metrics
+        CaffeineCacheMetrics.monitor(this.meterRegistry, this.tokens, CACHE_NAME);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        // Search validated token
+        String hash = hash(token);
+        Jwt jwt = this.tokens.getIfPresent(hash);
+
+        // If the token was not validated recently
+        if (jwt == null) {
+            jwt = this.delegate.decode(token);
+            this.tokens.put(hash, jwt);
+        }
+
+        return jwt;
+    }
+
+    /**
+     * Hashes a token value with SHA-256.
+     * 
+     * @param value Token value.
+     * @return Hash, encoded as URL safe base 64.
+     */
+    private static String hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Expires cached tokens after the time to live, or when the token
+     * expires if earlier.
+     */
+    private static class TokenExpiry implements Expiry<String, Jwt> {
+
+        /**
+         * Time to live.
+         */
+        private final long timeToLive;
+
+        TokenExpiry(Duration timeToLive) {
+            this.timeToLive = timeToLive.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+            // If the token does not expire
+            if (jwt.getExpiresAt() == null) {
+                return this.timeToLive;
+            }
+
+            // Time until the token expires
+            long remaining = Duration.between(Instant.now(), jwt.getExpiresAt()).toNanos();
+
+            return Math.max(0, Math.min(this.timeToLive, remaining));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return this.expireAfterCreate(key, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+    }
+
+}
@@ -0,0 +1,166 @@
+package microservices.sample.groups.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import javax.annotation.PostConstruct;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.security.oauth2.core.OAuth2AuthenticatedPrincipal;
+import org.springframework.security.oauth2.server.resource.introspection.NimbusOpaqueTokenIntrospector;
+import org.springframework.security.oauth2.server.resource.introspection.OAuth2IntrospectionClaimNames;
+import org.springframework.security.oauth2.server.resource.introspection.OAuth2IntrospectionException;
+import org.springframework.security.oauth2.server.resource.introspection.OpaqueTokenIntrospector;
+import org.springframework.stereotype.Service;
+import microservices.sample.groups.config.ResourceServerProperties;
+
+/**
+ * {@link OpaqueTokenIntrospector} that asks the authorization service about
+ * tokens, and reuses its answers for a short time.
+ * 
+ * Introspection lets the authorization service revoke tokens, at the cost of
+ * a request per token check. Active tokens are cached by the hash of their
+ * value for the configured maximum staleness, and never past their
+ * expiration, so a client repeating its token pays that request once per
+ * interval. Concurrent requests with an uncached token wait for a single
+ * introspection. Inactive tokens and failures are not cached.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Service
+@ConditionalOnProperty(prefix = "resource-server.introspection", name = "enabled", havingValue = "true")
+public class CachingOpaqueTokenIntrospector implements OpaqueTokenIntrospector {
+
+    /**
+     * Name of the cache in the published metrics.
+     */
+    private static final String CACHE_NAME = "introspected-tokens";
+
+    /**
+     * Resource server settings.
+     */
+    @Autowired
+    private ResourceServerProperties properties;
+
+    /**
+     * Builder of the client of the authorization service.
+     */
+    @Autowired
+    private RestTemplateBuilder restTemplateBuilder;
+
+    /**
+     * Registry where the cache metrics are published.
+     */
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Introspector that asks the authorization service.
+     */
+    private OpaqueTokenIntrospector delegate;
+
+    /**
+     * Active tokens, by hash.
+     */
+    private Cache<String, OAuth2AuthenticatedPrincipal> principals;
+
+    /**
+     * Builds the introspector and the cache, and binds the cache metrics.
+     */
+    @PostConstruct
+    public void initialize() {
+        // Get settings
+        ResourceServerProperties.Introspection settings = this.properties.getIntrospection();
+
+        // Ask the authorization service, authenticated as this service
+        this.delegate = new NimbusOpaqueTokenIntrospector(settings.getUri(), this.restTemplateBuilder
+            .basicAuthentication(settings.getClientId(), settings.getClientSecret())
+            .setConnectTimeout(settings.getConnectTimeout())
+            .setReadTimeout(settings.getReadTimeout())
+            .build());
+
+        // Build cache
+        this.principals = Caffeine.newBuilder()
+            .maximumSize(settings.getMaximumSize())
+            .expireAfter(new PrincipalExpiry(settings.getMaxStaleness()))
+            .recordStats()
+            .build();
+
+        // Publish hit, miss and eviction metrics
+        CaffeineCacheMetrics.monitor(this.meterRegistry, this.principals, CACHE_NAME);
+    }
+
+    @Override
+    public OAuth2AuthenticatedPrincipal introspect(String token) throws OAuth2IntrospectionException {
+        // Search active token, introspecting it once for all the requests that carry it
+        return this.principals.get(hash(token), key -> this.delegate.introspect(token));
+    }
+
+    /**
+     * Hashes a token value with SHA-256.
+     * 
+     * @param value Token value.
+     * @return Hash, encoded as URL safe base 64.
+     */
+    private static String hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Expires cached principals after the maximum staleness, or when their
+     * token expires if earlier.
+     */
+    private static class PrincipalExpiry implements Expiry<String, OAuth2AuthenticatedPrincipal> {
+
+        /**
+         * Maximum staleness.
+         */
+        private final long maxStaleness;
+
+        PrincipalExpiry(Duration maxStaleness) {
+            this.maxStaleness = maxStaleness.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, OAuth2AuthenticatedPrincipal principal, long currentTime) {
+            // If the token does not expire
+            Instant expiresAt = principal.getAttribute(OAuth2IntrospectionClaimNames.EXPIRES_AT);
+
+            if (expiresAt == null) {
+                return this.maxStaleness;
+            }
+
+            // Time until the token expires
+            long remaining = Duration.between(Instant.now(), expiresAt).toNanos();
+
+            return Math.max(0, Math.min(this.maxStaleness, remaining));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, OAuth2AuthenticatedPrincipal principal, long currentTime, long currentDuration) {
+            return this.expireAfterCreate(key, principal, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, OAuth2AuthenticatedPrincipal principal, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+    }
+
+}
@@ -0,0 +1,51 @@
+package microservices.sample.groups.web;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of one of the ids of a {@link BatchGetRequest}.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchGetResult {
+
+    /**
+     * Requested id.
+     */
+    private String id;
+
+    /**
+     * Whether an object with the id exists.
+     */
+    private boolean found;
+
+    /**
+     * Object, if found.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Object value;
+
+    /**
+     * Builds the results of a request, in the order the ids were requested.
+     * 
+     * @param ids Requested ids.
+     * @param found Objects found, by id.
+     * @return Results.
+     */
+    public static List<BatchGetResult> inRequestOrder(List<String> ids, Map<String, ?> found) {
+        return ids.stream()
+            .map(id -> new BatchGetResult(id, found.containsKey(id), found.get(id)))
+            .collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,33 @@
+package microservices.sample.groups.web;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of a filter based bulk operation.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkResult {
+
+    /**
+     * Whether the objects were only counted.
+     */
+    private boolean dryRun;
+
+    /**
+     * Number of objects matching the filter.
+     */
+    private long matched;
+
+    /**
+     * Number of objects deleted or modified.
+     */
+    private long modified;
+
+}
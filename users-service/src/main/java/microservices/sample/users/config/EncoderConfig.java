@@ -1,8 +1,12 @@
 package microservices.sample.users.config;
 
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 /**
@@ -12,9 +16,32 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 @Configuration
 public class EncoderConfig {
 
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(EncoderConfig.class);
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties) {
+        // PBKDF2 with the configured parameters, storing the iterations of each hash
+        IteratedPbkdf2PasswordEncoder pbkdf2 = new IteratedPbkdf2PasswordEncoder(properties.getPbkdf2Iterations(), properties.getPbkdf2SaltLength(), properties.getPbkdf2HashWidth());
+
+        // BCrypt, which this service stored without prefix before
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(properties.getBcryptStrength());
+
+        if (PasswordHashingProperties.BCRYPT.equals(properties.getEncodingId())) {
+            LOGGER.info("Hashing passwords with BCrypt strength {}", properties.getBcryptStrength());
+        } else {
+            LOGGER.info("Hashing passwords with {} and {} iterations", properties.getEncodingId(), properties.getPbkdf2Iterations());
+        }
+
+        // Prefix hashes with their encoder, like the auth service expects
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(properties.getEncodingId(), Map.of(
+            PasswordHashingProperties.BCRYPT, bcrypt,
+            PasswordHashingProperties.PBKDF2_SHA256, pbkdf2));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        return encoder;
     }
-    
+
 }
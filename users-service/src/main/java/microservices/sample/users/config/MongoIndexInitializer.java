@@ -0,0 +1,200 @@
+package microservices.sample.users.config;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+import microservices.sample.users.binding.BindingStrategy;
+import microservices.sample.users.binding.QueryBinding;
+
+/**
+ * Creates the indexes of the document models once the application is ready.
+ * 
+ * Indexes are derived from the mapping annotations ({@code @Indexed},
+ * {@code @CompoundIndex}, unique and TTL options, plus the collation of the
+ * {@code @Document}) and from the {@link QueryBinding}s that can seek an
+ * index. They are created in the background, so startup does not wait for
+ * the database and a failure only leaves the affected queries unindexed.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Component
+public class MongoIndexInitializer {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(MongoIndexInitializer.class);
+
+    /**
+     * Mongo template.
+     */
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * Mongo mapping context.
+     */
+    @Autowired
+    private MongoMappingContext mappingContext;
+
+    /**
+     * Starts the index creation.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeIndexes() {
+        CompletableFuture.runAsync(this::ensureIndexes);
+    }
+
+    /**
+     * Resolves the indexes every collection should have.
+     * 
+     * @return The index definitions, by collection name.
+     */
+    public Map<String, List<IndexDefinition>> resolveIndexes() {
+        // Resolve indexes from the model annotations
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(this.mappingContext);
+
+        // Indexes by collection
+        Map<String, List<IndexDefinition>> indexes = new LinkedHashMap<>();
+
+        // For each persistent entity
+        for (MongoPersistentEntity<?> entity : this.mappingContext.getPersistentEntities()) {
+
+            // Skip types that are not collections
+            if (!entity.isAnnotationPresent(org.springframework.data.mongodb.core.mapping.Document.class)) {
+                continue;
+            }
+
+            // Declared indexes
+            List<IndexDefinition> definitions = new ArrayList<>();
+
+            // Add annotated indexes
+            for (IndexDefinition definition : resolver.resolveIndexFor(entity.getTypeInformation())) {
+                definitions.add(this.withCollation(definition, entity));
+            }
+
+            // Add indexes for the bindings that can use one
+            this.addBindingIndexes(entity, definitions);
+
+            // Store the indexes of the collection
+            indexes.put(entity.getCollection(), definitions);
+        }
+
+        // Return indexes
+        return indexes;
+    }
+
+    /**
+     * Creates the missing indexes of every document model.
+     */
+    private void ensureIndexes() {
+        // For each collection
+        this.resolveIndexes().forEach((collection, definitions) -> {
+
+            // Get index operations of the collection
+            IndexOperations indexOperations = this.mongoTemplate.indexOps(collection);
+
+            // For each declared index
+            for (IndexDefinition definition : definitions) {
+                try {
+                    // Create index if missing
+                    indexOperations.ensureIndex(definition);
+                } catch (DataAccessException e) {
+                    LOGGER.warn("Could not create index {} on {}", definition.getIndexKeys(), collection, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Adds a single field index for every {@link QueryBinding} that can seek an
+     * index, unless a declared index already starts with that field.
+     * 
+     * @param entity The entity.
+     * @param definitions The declared indexes.
+     */
+    private void addBindingIndexes(MongoPersistentEntity<?> entity, List<IndexDefinition> definitions) {
+        ReflectionUtils.doWithFields(entity.getType(), field -> {
+
+            // Get the binding strategy
+            BindingStrategy strategy = field.getAnnotation(QueryBinding.class).value();
+
+            // Substring matches never use an index, case insensitive ones need a collation
+            if (strategy == BindingStrategy.CONTAINS || strategy == BindingStrategy.IGNORE_CASE && !entity.hasCollation()) {
+                return;
+            }
+
+            // Get the stored field name
+            MongoPersistentProperty property = entity.getRequiredPersistentProperty(field.getName());
+            String fieldName = property.getFieldName();
+
+            // If a declared index already starts with the field
+            for (IndexDefinition definition : definitions) {
+                if (definition.getIndexKeys().keySet().stream().findFirst().filter(fieldName::equals).isPresent()) {
+                    return;
+                }
+            }
+
+            // Add an ascending index
+            definitions.add(this.withCollation(new Index().on(fieldName, Sort.Direction.ASC), entity));
+
+        }, field -> field.isAnnotationPresent(QueryBinding.class));
+    }
+
+    /**
+     * Applies the collation of the entity to an index, so queries that run with
+     * that collation can use it.
+     * 
+     * @param definition The index definition.
+     * @param entity The entity.
+     * @return The index definition including the collation.
+     */
+    private IndexDefinition withCollation(IndexDefinition definition, MongoPersistentEntity<?> entity) {
+        // Build the index options
+        Document options = new Document(definition.getIndexOptions());
+        options.put("background", true);
+
+        // If the entity has a collation and the index does not
+        if (entity.hasCollation() && !options.containsKey("collation")) {
+            options.put("collation", entity.getCollation().toDocument());
+        }
+
+        // Return the definition with the options
+        return new IndexDefinition() {
+
+            @Override
+            public Document getIndexKeys() {
+                return definition.getIndexKeys();
+            }
+
+            @Override
+            public Document getIndexOptions() {
+                return options;
+            }
+
+        };
+    }
+
+}
@@ -0,0 +1,66 @@
+package microservices.sample.users.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Data;
+
+/**
+ * Settings of password hashing. The cost is fixed by these settings and not
+ * measured on each machine, because the auth service rehashes on login the
+ * passwords not hashed with its auth.passwords settings, so they must be kept
+ * equal to these.
+ *
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "users.password-hashing")
+public class PasswordHashingProperties {
+
+    /**
+     * Id of the BCrypt encoder.
+     */
+    public static final String BCRYPT = "bcrypt";
+
+    /**
+     * Id of the PBKDF2 encoder, with HMAC SHA-256.
+     */
+    public static final String PBKDF2_SHA256 = "pbkdf2-sha256";
+
+    /**
+     * Id of the encoder new hashes are made with, bcrypt or pbkdf2-sha256.
+     */
+    private String encodingId = PBKDF2_SHA256;
+
+    /**
+     * PBKDF2 iterations.
+     */
+    private int pbkdf2Iterations = 120_000;
+
+    /**
+     * PBKDF2 salt length, in bytes.
+     */
+    private int pbkdf2SaltLength = 16;
+
+    /**
+     * PBKDF2 hash width, in bits.
+     */
+    private int pbkdf2HashWidth = 256;
+
+    /**
+     * BCrypt strength.
+     */
+    private int bcryptStrength = 10;
+
+    /**
+     * Number of workers hashing passwords, 0 to use half of the processors.
+     */
+    private int workers = 0;
+
+    /**
+     * Number of passwords waiting to be hashed before new ones are rejected.
+     */
+    private int queueCapacity = 100;
+
+}
@@ -0,0 +1,92 @@
+package microservices.sample.users.config;
+
+import javax.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationManagerResolver;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+import org.springframework.security.oauth2.server.resource.authentication.OpaqueTokenAuthenticationProvider;
+import org.springframework.security.oauth2.server.resource.introspection.OpaqueTokenIntrospector;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.DefaultBearerTokenResolver;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.util.StringUtils;
+import microservices.sample.users.web.Secrets;
+
+/**
+ * Requires tokens of the authorization service on every request but health
+ * checks. Revealing secrets and replacing password hashes also require the
+ * internal scope of the tokens the authorization service sends for itself.
+ * JWTs are decoded by the caching decoder bean, other tokens are introspected
+ * when introspection is enabled.
+ *
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@EnableWebSecurity
+public class ResourceServerConfig {
+
+    /**
+     * Prefix of the authorities of token scopes.
+     */
+    private static final String SCOPE_PREFIX = "SCOPE_";
+
+    @Bean
+    public SecurityFilterChain resourceServerSecurityFilterChain(HttpSecurity http, JwtDecoder jwtDecoder, ObjectProvider<OpaqueTokenIntrospector> introspector, ResourceServerProperties properties) throws Exception {
+        // Authority of the tokens of the authorization service
+        String internal = SCOPE_PREFIX + properties.getInternalScope();
+
+        return http
+            .csrf().disable()
+            .sessionManagement()
+                .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                .and()
+            .authorizeRequests()
+                .antMatchers("/actuator/health/**", "/actuator/info")
+                    .permitAll()
+                .requestMatchers(request -> request.getParameter(Secrets.PARAMETER) != null)
+                    .hasAuthority(internal)
+                .mvcMatchers(HttpMethod.PUT, "/{id}/password-hash")
+                    .hasAuthority(internal)
+                .anyRequest()
+                    .authenticated()
+                .and()
+            .oauth2ResourceServer()
+                .authenticationManagerResolver(authenticationManagerResolver(jwtDecoder, introspector.getIfAvailable()))
+                .and()
+            .build();
+    }
+
+    /**
+     * Chooses how the bearer token of each request is authenticated, by its
+     * format.
+     * 
+     * @param jwtDecoder Decoder of JWTs.
+     * @param introspector Introspector of other tokens, or null if disabled.
+     * @return Resolver.
+     */
+    private static AuthenticationManagerResolver<HttpServletRequest> authenticationManagerResolver(JwtDecoder jwtDecoder, OpaqueTokenIntrospector introspector) {
+        // Authenticate JWTs locally
+        AuthenticationManager jwt = new ProviderManager(new JwtAuthenticationProvider(jwtDecoder));
+
+        // If introspection is disabled, every token must be a JWT
+        if (introspector == null) {
+            return request -> jwt;
+        }
+
+        // Authenticate other tokens with the authorization service
+        AuthenticationManager opaque = new ProviderManager(new OpaqueTokenAuthenticationProvider(introspector));
+        BearerTokenResolver tokenResolver = new DefaultBearerTokenResolver();
+
+        // A signed JWT has three dot separated parts
+        return request -> StringUtils.countOccurrencesOf(tokenResolver.resolve(request), ".") == 2 ? jwt : opaque;
+    }
+
+}
@@ -1,17 +1,38 @@
 package microservices.sample.users.controller;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import javax.annotation.PostConstruct;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.result.UpdateResult;
 import com.querydsl.core.types.Predicate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.data.querydsl.binding.QuerydslPredicate;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.BindException;
 import org.springframework.validation.BindingResult;
@@ -21,12 +42,31 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import microservices.sample.users.model.QUser;
 import microservices.sample.users.model.User;
+import microservices.sample.users.model.UserImportResult;
 import microservices.sample.users.repository.UserRepository;
+import microservices.sample.users.service.PasswordHashingService;
+import microservices.sample.users.service.UserImportService;
 import microservices.sample.users.service.UserService;
+import microservices.sample.users.web.BatchGetRequest;
+import microservices.sample.users.web.BatchGetResult;
+import microservices.sample.users.web.BulkResult;
+import microservices.sample.users.web.CursorPage;
+import microservices.sample.users.web.CursorToken;
+import microservices.sample.users.web.ETags;
+import microservices.sample.users.web.FieldSelection;
+import microservices.sample.users.web.JsonStreams;
+import microservices.sample.users.web.PasswordHashChange;
+import microservices.sample.users.web.PatchUpdate;
+import microservices.sample.users.web.Secrets;
 
 /**
  * User controller.
@@ -37,6 +77,26 @@ import microservices.sample.users.service.UserService;
 @RestController
 public class UserController {
 
+    /**
+     * Properties that users can be sorted by in cursor pages, all of them indexed.
+     */
+    private static final Set<String> CURSOR_SORTABLE = Set.of(CursorToken.ID, "username");
+
+    /**
+     * Fields that cannot be patched in bulk.
+     */
+    private static final Set<String> BULK_PATCH_PROTECTED_FIELDS = Set.of("id", "version", "password");
+
+    /**
+     * Fields that cannot be patched.
+     */
+    private static final Set<String> PATCH_PROTECTED_FIELDS = Set.of("id", "version");
+
+    /**
+     * Maximum size of a cursor page.
+     */
+    private static final int CURSOR_MAX_SIZE = 1000;
+
     /**
      * User repository.
      */
@@ -50,10 +110,16 @@ public class UserController {
     private UserService userService;
 
     /**
-     * Password encoder.
+     * User import service.
      */
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private UserImportService userImportService;
+
+    /**
+     * Password hashing service.
+     */
+    @Autowired
+    private PasswordHashingService passwordHashingService;
 
     /**
      * Jackson object mapper.
@@ -61,6 +127,11 @@ public class UserController {
     @Autowired
     private ObjectMapper objectMapper;
 
+    /**
+     * Jackson object mapper that also writes secret fields.
+     */
+    private ObjectMapper secretObjectMapper;
+
     /**
      * Spring validator.
      */
@@ -68,23 +139,52 @@ public class UserController {
     private SpringValidatorAdapter validator;
 
     /**
-     * Get all users.
+     * Executor of async requests, which writes users once their password is hashed.
+     */
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private AsyncTaskExecutor taskExecutor;
+
+    /**
+     * Creates the mapper that writes secret fields.
+     */
+    @PostConstruct
+    public void initializeSecretObjectMapper() {
+        this.secretObjectMapper = Secrets.revealing(this.objectMapper);
+    }
+
+    /**
+     * Get all users, streamed as a JSON array.
      * 
      * @param predicate Predicate to filter users.
-     * @return List of users.
+     * @param fields Fields to return, comma separated.
+     * @return Stream of users.
      */
     @GetMapping
-    public Iterable<User> index(@QuerydslPredicate(root = User.class) Predicate predicate) {
+    public ResponseEntity<StreamingResponseBody> index(@QuerydslPredicate(root = User.class) Predicate predicate, @RequestParam(name = "fields", required = false) String fields) {
 
-        // If predicate is not null
-        if (predicate != null) {
+        // Select fields
+        FieldSelection selection = FieldSelection.parse(fields, User.class);
 
-            // Return objects filtered by predicate
-            return this.userRepository.findAll(predicate);
-        }
+        // Stream objects filtered by predicate, if any
+        return JsonStreams.array(this.objectMapper, () -> this.userRepository.stream(predicate, selection.toField()), user -> selection.write(user, this.objectMapper));
+    }
 
-        // Return all objects
-        return this.userRepository.findAll();
+    /**
+     * Get all users, streamed as newline delimited JSON.
+     * 
+     * @param predicate Predicate to filter users.
+     * @param fields Fields to return, comma separated.
+     * @return Stream of users.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> indexNdjson(@QuerydslPredicate(root = User.class) Predicate predicate, @RequestParam(name = "fields", required = false) String fields) {
+
+        // Select fields
+        FieldSelection selection = FieldSelection.parse(fields, User.class);
+
+        // Stream objects filtered by predicate, if any
+        return JsonStreams.ndjson(this.objectMapper, () -> this.userRepository.stream(predicate, selection.toField()), user -> selection.write(user, this.objectMapper));
     }
 
     /**
@@ -92,33 +192,157 @@ public class UserController {
      * 
      * @param predicate Predicate to filter users.
      * @param pageable Pageable object to paginate users.
+     * @param fields Fields to return, comma separated.
      * @return Page of users.
      */
     @GetMapping("page")
-    public Page<User> page(@QuerydslPredicate(root = User.class) Predicate predicate, Pageable pageable) {
+    public Page<Object> page(@QuerydslPredicate(root = User.class) Predicate predicate, Pageable pageable, @RequestParam(name = "fields", required = false) String fields) {
+
+        // Select fields
+        FieldSelection selection = FieldSelection.parse(fields, User.class);
+
+        // Return page of objects filtered by predicate, if any
+        return this.userRepository.findPage(predicate, pageable, selection.toField()).map(user -> selection.write(user, this.objectMapper));
+    }
+
+    /**
+     * Get a slice of users, selected with count=none. The matching
+     * users are not counted, the response only tells whether there is a
+     * next slice.
+     * 
+     * @param predicate Predicate to filter users.
+     * @param pageable Pageable object to paginate users.
+     * @param fields Fields to return, comma separated.
+     * @return Slice of users.
+     */
+    @GetMapping(value = "page", params = "count=none")
+    public Slice<Object> slice(@QuerydslPredicate(root = User.class) Predicate predicate, Pageable pageable, @RequestParam(name = "fields", required = false) String fields) {
+
+        // Select fields
+        FieldSelection selection = FieldSelection.parse(fields, User.class);
+
+        // Return slice of objects filtered by predicate, if any
+        return this.userRepository.findSlice(predicate, pageable, selection.toField()).map(user -> selection.write(user, this.objectMapper));
+    }
+
+    /**
+     * Get a page of users, selected with count=estimated. Without filters,
+     * the total is estimated from the collection metadata; with filters it is
+     * counted as usual.
+     * 
+     * @param predicate Predicate to filter users.
+     * @param pageable Pageable object to paginate users.
+     * @param fields Fields to return, comma separated.
+     * @return Page of users.
+     */
+    @GetMapping(value = "page", params = "count=estimated")
+    public Page<Object> pageEstimated(@QuerydslPredicate(root = User.class) Predicate predicate, Pageable pageable, @RequestParam(name = "fields", required = false) String fields) {
 
-        // If predicate is not null
-        if (predicate != null) {
+        // Select fields
+        FieldSelection selection = FieldSelection.parse(fields, User.class);
 
-            // Return page of objects filtered by predicate
-            return this.userRepository.findAll(predicate, pageable);
+        // Return page of objects filtered by predicate, if any
+        return this.userRepository.findPageEstimated(predicate, pageable, selection.toField()).map(user -> selection.write(user, this.objectMapper));
+    }
+
+    /**
+     * Get a page of users after a cursor. Unlike {@link #page}, the cost
+     * of a page does not grow with its depth, and the total is only counted on
+     * request.
+     * 
+     * @param predicate Predicate to filter users.
+     * @param after Cursor returned by the previous page, if any.
+     * @param size Page size.
+     * @param count Whether to count the matching users.
+     * @param fields Fields to return, comma separated.
+     * @param sort Sort of the first page, by id or username.
+     * @return Page of users.
+     */
+    @GetMapping("cursor")
+    public CursorPage<Object> cursor(
+        @QuerydslPredicate(root = User.class) Predicate predicate,
+        @RequestParam(name = "after", required = false) String after,
+        @RequestParam(name = "size", defaultValue = "20") int size,
+        @RequestParam(name = "count", defaultValue = "false") boolean count,
+        @RequestParam(name = "fields", required = false) String fields,
+        Sort sort
+    ) {
+
+        // Continue from the cursor, or start in the requested order
+        CursorToken token = after != null ? CursorToken.decode(after, this.objectMapper) : CursorToken.start(sort, CURSOR_SORTABLE);
+
+        // If the cursor was not issued by this endpoint
+        if (!CURSOR_SORTABLE.contains(token.getProperty()) || token.getDirection() == null) {
+
+            // Throw exception
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
         }
 
-        // Return page of all objects
-        return this.userRepository.findAll(pageable);
+        // Select fields
+        FieldSelection selection = FieldSelection.parse(fields, User.class);
+
+        // Limit page size
+        int pageSize = Math.max(1, Math.min(size, CURSOR_MAX_SIZE));
+
+        // Fetch one more object to know if there is a next page
+        List<User> users = this.userRepository.findAfter(predicate, token.toOrder(), token.getValue(), token.getId(), pageSize + 1, selection.toField(token.getProperty()));
+
+        // Count objects, if requested
+        Long total = null;
+
+        if (count) {
+            total = predicate != null ? this.userRepository.count(predicate) : this.userRepository.count();
+        }
+
+        // Return page
+        return CursorPage.of(users, pageSize, token, total, this.objectMapper).map(user -> selection.write(user, this.objectMapper));
     }
 
     /**
      * Finds a user by id.
      * 
      * @param id User id.
+     * @param fields Fields to return, comma separated, or all of them.
      * @return User.
      */
     @GetMapping("{id}")
-    public ResponseEntity<User> get(@PathVariable("id") String id) {
+    public ResponseEntity<Object> get(@PathVariable("id") String id, @RequestParam(name = "fields", required = false) String fields) {
+
+        // Select fields
+        FieldSelection selection = FieldSelection.parse(fields, User.class);
 
         // Search object by id
-        Optional<User> optUser = this.userRepository.findById(id);
+        Optional<User> optUser = this.userRepository.findOne(QUser.user.id.eq(id), selection.toField("version"));
+
+        // If the object is not found
+        if (optUser.isEmpty()) {
+
+            // Throw exception
+            throw new ResponseStatusException(HttpStatus.NO_CONTENT);
+        }
+
+        // Get the object
+        User user = optUser.get();
+
+        // Return the object with its entity tag, so unchanged objects are answered 304
+        return ETags.ok(selection.write(user, this.objectMapper), user.getVersion());
+    }
+
+    /**
+     * Finds a user by its exact username.
+     * 
+     * @param username Username.
+     * @param secret Whether to write the secret fields, for the auth service.
+     * @return User.
+     */
+    @GetMapping("by-username")
+    public ResponseEntity<Object> getByUsername(
+        @RequestParam("username") String username,
+        @RequestParam(name = Secrets.PARAMETER, defaultValue = "false") boolean secret
+    ) {
+
+        // Search object by username
+        Optional<User> optUser = this.userRepository.findByUsername(username);
 
         // If the object is not found
         if (optUser.isEmpty()) {
@@ -130,22 +354,50 @@ public class UserController {
         // Get the object
         User user = optUser.get();
 
-        // Return the object
-        return new ResponseEntity<>(user, HttpStatus.OK);
+        // Return the object with its entity tag, with its secrets if requested
+        return ETags.ok(secret ? this.secretObjectMapper.valueToTree(user) : user, user.getVersion());
+    }
+
+    /**
+     * Finds many users by id with a single query. Results are returned in
+     * the order of the requested ids, marking the ones that were not found.
+     * 
+     * @param request Requested ids.
+     * @param fields Fields to return, comma separated, or all of them.
+     * @return Results.
+     */
+    @PostMapping("_batchGet")
+    public List<BatchGetResult> batchGet(@RequestBody BatchGetRequest request, @RequestParam(name = "fields", required = false) String fields) {
+
+        // Select fields
+        FieldSelection selection = FieldSelection.parse(fields, User.class);
+
+        // Objects found, by id
+        Map<String, Object> found = new HashMap<>();
+
+        // Search every object at once
+        try (CloseableIterator<User> users = this.userRepository.stream(QUser.user.id.in(request.distinctIds()), selection.toField())) {
+            users.forEachRemaining(user -> found.put(user.getId(), selection.write(user, this.objectMapper)));
+        }
+
+        // Return results in request order
+        return BatchGetResult.inRequestOrder(request.getIds(), found);
     }
 
     /**
-     * Saves a new user.
+     * Saves a new user. The password is ciphered off the request thread, and
+     * the user is saved once it is.
      * 
      * @param user User to save.
      * @return User.
      * @throws BindException If the user is not valid.
      */
     @PostMapping
-    public ResponseEntity<User> save(@RequestBody User user) throws BindException {
+    public CompletableFuture<ResponseEntity<User>> save(@RequestBody User user) throws BindException {
 
-        // Remove id
+        // Remove id and version
         user.setId(null);
+        user.setVersion(null);
 
         // Search object
         Optional<User> optUser = this.userRepository.findByUsername(user.getUsername());
@@ -157,9 +409,6 @@ public class UserController {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "User already exists");
         }
 
-        // Cipher password
-        user.setPassword(this.passwordEncoder.encode(user.getPassword()));
-
         // Enable user
         user.setEnabled(true);
         user.setAccountNonLocked(true);
@@ -177,64 +426,271 @@ public class UserController {
             throw new BindException(result);
         }
 
-        // Save object
-        this.userService.save(user);
+        // Cipher password, then save object on the async request executor, so hashing workers do not wait on the database
+        return this.encodePassword(user.getPassword()).thenApplyAsync(password -> {
+            user.setPassword(password);
+            this.userService.save(user);
 
-        // Return object
-        return new ResponseEntity<>(user, HttpStatus.CREATED);
+            // Return object
+            return new ResponseEntity<>(user, HttpStatus.CREATED);
+        }, this.taskExecutor);
     }
 
     /**
-     * Patches an existing user.
+     * Creates users in bulk from newline delimited JSON, one user per line.
+     * The result of each line is streamed back as newline delimited JSON as
+     * soon as its batch is written.
      * 
-     * @param user User to patch.
-     * @param request Request object containing patch data.
-     * @return User.
-     * @throws IOException If the patch data is not valid.
-     * @throws BindException If the patched user is not valid.
+     * @param upsert Whether to update the users whose username already exists, instead of failing.
+     * @param request Request object containing the users.
+     * @param response Response object receiving the results.
+     * @throws IOException If the request cannot be read or the response cannot be written.
+     */
+    @PostMapping(value = "_bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void bulk(@RequestParam(name = "upsert", defaultValue = "false") boolean upsert, HttpServletRequest request, HttpServletResponse response) throws IOException {
+
+        // Stream results
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream output = response.getOutputStream();
+
+        // Import users
+        try {
+            this.userImportService.importUsers(request.getReader(), upsert, results -> {
+                try {
+                    // Write a line per result
+                    for (UserImportResult result : results) {
+                        output.write(this.objectMapper.writeValueAsBytes(result));
+                        output.write('\n');
+                    }
+
+                    // Send the batch
+                    output.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Patches an existing user with a single update of the sent fields, so
+     * concurrent patches of different fields do not overwrite each other. The
+     * password, if sent, is ciphered off the request thread first.
+     * 
+     * @param id User id.
+     * @param version Version the user must have, to reject changes made since it was read.
+     * @param ifMatch Entity tag the user must have, instead of the version.
+     * @param changes New value of each field, null to remove it.
+     * @return Patched user.
+     * @throws BindException If a patched value is not valid.
      */
     @PatchMapping("{id}")
-    public ResponseEntity<User> patch(@PathVariable("id") User user, HttpServletRequest request) throws IOException, BindException {
+    public CompletableFuture<ResponseEntity<User>> patch(@PathVariable("id") String id, @RequestParam(name = "version", required = false) Long version, @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch, @RequestBody Map<String, Object> changes) throws BindException {
 
-        // Get old password
-        String oldPassword = user.getPassword();
+        // If the version is sent as an entity tag, it takes precedence
+        Long required = ifMatch != null ? ETags.parseIfMatch(ifMatch) : version;
 
-        // Patch old object
-        this.objectMapper.readerForUpdating(user).readValue(request.getReader());
+        // Build update of the sent fields
+        Update update = PatchUpdate.toUpdate(changes, User.class, PATCH_PROTECTED_FIELDS, this.objectMapper, this.validator);
 
         // If the password was changed
-        if (!user.getPassword().equals(oldPassword)) {
+        if (changes.containsKey("password")) {
+
+            // If the password was removed
+            if (changes.get("password") == null) {
+
+                // Throw exception
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Field password cannot be null");
+            }
 
-            // Cipher password
-            user.setPassword(this.passwordEncoder.encode(oldPassword));
+            // Cipher password, then update object on the async request executor
+            return this.encodePassword(changes.get("password").toString())
+                .thenApplyAsync(password -> this.patch(id, required, ifMatch != null, update.set("password", password)), this.taskExecutor);
         }
 
-        // Create validation object
-        BindingResult result = new BeanPropertyBindingResult(user, "user");
+        // Update object
+        return CompletableFuture.completedFuture(this.patch(id, required, ifMatch != null, update));
+    }
 
-        // Validate object
-        this.validator.validate(user, result);
+    /**
+     * Applies a patch to an existing user.
+     * 
+     * @param id User id.
+     * @param version Version the user must have, or null to patch any version.
+     * @param conditional Whether the version was sent as an entity tag.
+     * @param update Update of the patched fields.
+     * @return Patched user.
+     */
+    private ResponseEntity<User> patch(String id, Long version, boolean conditional, Update update) {
+        // Update object
+        Optional<User> optUser;
 
-        // If there are errors
-        if (result.hasErrors()) {
-            throw new BindException(result);
+        try {
+            optUser = this.userService.patch(id, version, update);
+        } catch (DuplicateKeyException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "User already exists");
         }
 
-        // Update object
-        this.userService.save(user);
+        // If the object is not found
+        if (optUser.isEmpty()) {
+
+            // If the precondition of the entity tag failed
+            if (conditional) {
+
+                // Throw exception
+                throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED);
+            }
+
+            // If it exists with another version
+            if (version != null && this.userRepository.existsById(id)) {
+
+                // Throw exception
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "User was modified");
+            }
 
-        // Return object
-        return new ResponseEntity<>(user, HttpStatus.OK);
+            // Throw exception
+            throw new ResponseStatusException(HttpStatus.NO_CONTENT);
+        }
+
+        // Return object with its new entity tag
+        return ETags.ok(optUser.get(), optUser.get().getVersion());
+    }
+
+    /**
+     * Ciphers a password on the hashing workers.
+     * 
+     * @param password Password.
+     * @return Ciphered password.
+     */
+    private CompletableFuture<String> encodePassword(String password) {
+        try {
+            return this.passwordHashingService.encode(password);
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many password changes, try again later");
+        }
+    }
+
+    /**
+     * Replaces the password hash of a user with one that is already hashed,
+     * as long as the user still has the expected hash. Used to rehash
+     * passwords with newer parameters when users log in.
+     * 
+     * @param id User id.
+     * @param change Current and new hash.
+     * @return Nothing.
+     */
+    @PutMapping("{id}/password-hash")
+    public ResponseEntity<Void> replacePasswordHash(@PathVariable("id") String id, @RequestBody PasswordHashChange change) {
+
+        // If the current hash is missing
+        if (change.getCurrent() == null) {
+
+            // Throw exception
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Field current is required");
+        }
+
+        // If the replacement is a raw password
+        if (!change.isReplacementHashed()) {
+
+            // Throw exception
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Field replacement is not a password hash");
+        }
+
+        // If the hash is not replaced
+        if (!this.userService.replacePassword(id, change.getCurrent(), change.getReplacement())) {
+
+            // If the password was changed since it was read
+            if (this.userRepository.existsById(id)) {
+
+                // Throw exception
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "User password was changed");
+            }
+
+            // Throw exception
+            throw new ResponseStatusException(HttpStatus.NO_CONTENT);
+        }
+
+        // Return response
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    /**
+     * Deletes every user matching a filter with a single query. The filter
+     * uses the same parameters as the listing endpoints and is required.
+     * 
+     * @param predicate Predicate to filter users.
+     * @param dryRun Whether to only count the matching users.
+     * @return Number of matching and deleted users.
+     */
+    @PostMapping("_bulkDelete")
+    public BulkResult bulkDelete(@QuerydslPredicate(root = User.class) Predicate predicate, @RequestParam(name = "dryRun", defaultValue = "false") boolean dryRun) {
+
+        // If there is no filter
+        if (predicate == null) {
+
+            // Throw exception
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A filter is required");
+        }
+
+        // If only counting
+        if (dryRun) {
+            return new BulkResult(true, this.userRepository.count(predicate), 0);
+        }
+
+        // Delete objects
+        long deleted = this.userRepository.deleteMany(predicate);
+
+        // Return result
+        return new BulkResult(false, deleted, deleted);
+    }
+
+    /**
+     * Sets fields of every user matching a filter with a single query. The
+     * filter uses the same parameters as the listing endpoints and is
+     * required.
+     * 
+     * @param predicate Predicate to filter users.
+     * @param dryRun Whether to only count the matching users.
+     * @param changes New value of each field.
+     * @return Number of matching and modified users.
+     * @throws BindException If a patched value is not valid.
+     */
+    @PostMapping("_bulkPatch")
+    public BulkResult bulkPatch(@QuerydslPredicate(root = User.class) Predicate predicate, @RequestParam(name = "dryRun", defaultValue = "false") boolean dryRun, @RequestBody Map<String, Object> changes) throws BindException {
+
+        // If there is no filter
+        if (predicate == null) {
+
+            // Throw exception
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A filter is required");
+        }
+
+        // Build update
+        Update update = PatchUpdate.toUpdate(changes, User.class, BULK_PATCH_PROTECTED_FIELDS, this.objectMapper, this.validator);
+
+        // If only counting
+        if (dryRun) {
+            return new BulkResult(true, this.userRepository.count(predicate), 0);
+        }
+
+        // Update objects
+        UpdateResult result = this.userRepository.updateMany(predicate, update);
+
+        // Return result
+        return new BulkResult(false, result.getMatchedCount(), result.getModifiedCount());
     }
 
     /**
      * Deletes a user by id.
      * 
      * @param id User id.
+     * @param ifMatch Entity tag the user must have, to reject changes made since it was read.
      * @return Nothing.
      */
     @DeleteMapping("{id}")
-    public ResponseEntity<Void> delete(@PathVariable("id") String id) {
+    public ResponseEntity<Void> delete(@PathVariable("id") String id, @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         // Search object
         Optional<User> optUser = this.userRepository.findById(id);
 
@@ -242,14 +698,21 @@ public class UserController {
         if (optUser.isEmpty()) {
 
             // Throw exception
-            throw new ResponseStatusException(HttpStatus.NO_CONTENT);
+            throw new ResponseStatusException(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.NO_CONTENT);
         }
 
         // Get object
         User user = optUser.get();
 
-        // Delete object
-        this.userService.delete(user);
+        // Check entity tag
+        ETags.checkIfMatch(ifMatch, user.getVersion());
+
+        // Delete object, unless it was modified since it was read
+        try {
+            this.userService.delete(user);
+        } catch (OptimisticLockingFailureException e) {
+            throw new ResponseStatusException(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT, "User was modified");
+        }
 
         // Return response
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
@@ -1,10 +1,16 @@
 package microservices.sample.users.model;
 
 import java.util.List;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import microservices.sample.users.binding.BindingStrategy;
+import microservices.sample.users.binding.QueryBinding;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
@@ -17,6 +23,7 @@ import lombok.EqualsAndHashCode;
 @Data
 @EqualsAndHashCode(of = "id")
 @Document
+@CompoundIndex(name = "username_id", def = "{'username': 1, '_id': 1}")
 public class User implements UserDetails {
 
     /**
@@ -25,19 +32,28 @@ public class User implements UserDetails {
     @Id
     private String id;
 
+    /**
+     * Version of the user, incremented on every write.
+     */
+    @Version
+    private Long version;
+
     /**
      * List of authorities granted to the user.
      */
     private List<GrantedAuthority> authorities;
 
     /**
-     * User's password.
+     * User's password hash, read from requests but never written to responses.
      */
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String password;
 
     /**
      * User's username.
      */
+    @Indexed(unique = true)
+    @QueryBinding(BindingStrategy.PREFIX)
     private String username;
 
     /**
@@ -0,0 +1,63 @@
+package microservices.sample.users.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+/**
+ * Result of one line of a bulk user import.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserImportResult {
+
+    /**
+     * Line of the request the user was read from, starting at 1.
+     */
+    private long line;
+
+    /**
+     * Username, if the line could be read.
+     */
+    private String username;
+
+    /**
+     * What was done with the user.
+     */
+    private Status status;
+
+    /**
+     * Id of the created user.
+     */
+    private String id;
+
+    /**
+     * Reason the user was not saved.
+     */
+    private String error;
+
+    /**
+     * Import status.
+     */
+    public enum Status {
+
+        /**
+         * The user was created.
+         */
+        CREATED,
+
+        /**
+         * An existing user with the same username was updated.
+         */
+        UPDATED,
+
+        /**
+         * The user was not saved.
+         */
+        FAILED
+
+    }
+
+}
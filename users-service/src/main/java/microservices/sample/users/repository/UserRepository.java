@@ -7,6 +7,7 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.querydsl.binding.QuerydslBinderCustomizer;
 import org.springframework.data.querydsl.binding.QuerydslBindings;
+import microservices.sample.users.binding.QueryBindingCustomizer;
 import microservices.sample.users.model.User;
 import microservices.sample.users.model.QUser;
 
@@ -16,7 +17,7 @@ import microservices.sample.users.model.QUser;
  * @author Matías Hermosilla
  * @since 05-09-2021
  */
-public interface UserRepository extends MongoRepository<User, String>, QuerydslPredicateExecutor<User>, QuerydslBinderCustomizer<QUser> {
+public interface UserRepository extends MongoRepository<User, String>, QuerydslPredicateExecutor<User>, QuerydslBinderCustomizer<QUser>, UserRepositoryCustom {
 
     /**
      * Finds a user by its username.
@@ -30,6 +31,7 @@ public interface UserRepository extends MongoRepository<User, String>, QuerydslP
     public default void customize(QuerydslBindings bindings, QUser qModel) {
         bindings.bind(Long.class).first((NumberPath<Long> path, Long value) -> path.eq(value));
         bindings.bind(String.class).first((StringPath path, String value) -> path.containsIgnoreCase(value));
+        QueryBindingCustomizer.customize(bindings, qModel);
         bindings.excluding(qModel.password);
     }
 
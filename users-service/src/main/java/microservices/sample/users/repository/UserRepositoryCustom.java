@@ -0,0 +1,129 @@
+package microservices.sample.users.repository;
+
+import java.util.List;
+import java.util.Optional;
+import com.mongodb.client.result.UpdateResult;
+import com.querydsl.core.types.Predicate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Field;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+import microservices.sample.users.model.User;
+
+/**
+ * Custom queries for {@link User}s that are not covered by Spring Data.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Opens a cursor over the users matching a predicate.
+     * 
+     * @param predicate the predicate, or null to match all users.
+     * @param fields the projection, or null to read whole documents.
+     * @return the cursor, which must be closed.
+     */
+    public CloseableIterator<User> stream(Predicate predicate, Field fields);
+
+    /**
+     * Finds a user matching a predicate.
+     * 
+     * @param predicate the predicate.
+     * @param fields the projection, or null to read the whole document.
+     * @return the user, if found.
+     */
+    public Optional<User> findOne(Predicate predicate, Field fields);
+
+    /**
+     * Finds a page of the users matching a predicate.
+     * 
+     * @param predicate the predicate, or null to match all users.
+     * @param pageable the page to fetch.
+     * @param fields the projection, or null to read whole documents.
+     * @return the page.
+     */
+    public Page<User> findPage(Predicate predicate, Pageable pageable, Field fields);
+
+    /**
+     * Finds the users matching a predicate that come after a position of
+     * an order, using the index of the sort key instead of skipping documents.
+     * Ties are broken by id.
+     * 
+     * @param predicate the predicate, or null to match all users.
+     * @param order the sort order.
+     * @param lastValue the sort key of the last user returned, or null to start from the beginning.
+     * @param lastId the id of the last user returned, or null to start from the beginning.
+     * @param limit the maximum number of users to return.
+     * @param fields the projection, or null to read whole documents.
+     * @return the users.
+     */
+    public List<User> findAfter(Predicate predicate, Sort.Order order, Object lastValue, String lastId, int limit, Field fields);
+
+    /**
+     * Finds a slice of the users matching a predicate, without counting them.
+     * One extra user is fetched to know whether there is a next slice.
+     * 
+     * @param predicate the predicate, or null to match all users.
+     * @param pageable the page to fetch.
+     * @param fields the projection, or null to read whole documents.
+     * @return the slice.
+     */
+    public Slice<User> findSlice(Predicate predicate, Pageable pageable, Field fields);
+
+    /**
+     * Finds a page of the users matching a predicate. Without a predicate,
+     * the total is estimated from the collection metadata instead of counted.
+     * 
+     * @param predicate the predicate, or null to match all users.
+     * @param pageable the page to fetch.
+     * @param fields the projection, or null to read whole documents.
+     * @return the page.
+     */
+    public Page<User> findPageEstimated(Predicate predicate, Pageable pageable, Field fields);
+
+    /**
+     * Deletes the users matching a predicate with a single query.
+     * 
+     * @param predicate the predicate.
+     * @return the number of deleted users.
+     */
+    public long deleteMany(Predicate predicate);
+
+    /**
+     * Updates the users matching a predicate with a single query and
+     * increments their versions.
+     * 
+     * @param predicate the predicate.
+     * @param update the update.
+     * @return the result of the update.
+     */
+    public UpdateResult updateMany(Predicate predicate, Update update);
+
+    /**
+     * Applies an update to an user with a single query and increments its
+     * version.
+     * 
+     * @param id the id of the user.
+     * @param version the version the user must have, or null to update any version.
+     * @param update the update.
+     * @return the updated user, or empty if there is no user with the id and version.
+     */
+    public Optional<User> findAndPatch(String id, Long version, Update update);
+
+    /**
+     * Replaces the password hash of a user with a single query, only if it
+     * still has the expected hash, and increments its version.
+     * 
+     * @param id the id of the user.
+     * @param current the hash the user must have.
+     * @param replacement the new hash.
+     * @return whether the hash was replaced.
+     */
+    public boolean replacePassword(String id, String current, String replacement);
+
+}
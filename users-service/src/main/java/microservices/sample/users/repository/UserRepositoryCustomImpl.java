@@ -0,0 +1,242 @@
+package microservices.sample.users.repository;
+
+import java.util.List;
+import java.util.Optional;
+import com.mongodb.client.result.UpdateResult;
+import com.querydsl.core.types.Predicate;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Field;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.repository.support.SpringDataMongodbQuery;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.data.util.CloseableIterator;
+import microservices.sample.users.model.User;
+
+/**
+ * Implementation of {@link UserRepositoryCustom}.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    /**
+     * Number of documents fetched per cursor round trip.
+     */
+    private static final int CURSOR_BATCH_SIZE = 500;
+
+    /**
+     * Name of the id property.
+     */
+    private static final String ID = "id";
+
+    /**
+     * Name of the version property.
+     */
+    private static final String VERSION = "version";
+
+    /**
+     * Name of the password property.
+     */
+    private static final String PASSWORD = "password";
+
+    /**
+     * Mongo template.
+     */
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public CloseableIterator<User> stream(Predicate predicate, Field fields) {
+        // Build query
+        Query query = this.toQuery(predicate, fields).cursorBatchSize(CURSOR_BATCH_SIZE);
+
+        // Open cursor
+        return this.mongoTemplate.stream(query, User.class);
+    }
+
+    @Override
+    public Optional<User> findOne(Predicate predicate, Field fields) {
+        return Optional.ofNullable(this.mongoTemplate.findOne(this.toQuery(predicate, fields), User.class));
+    }
+
+    @Override
+    public Page<User> findPage(Predicate predicate, Pageable pageable, Field fields) {
+        // Build query
+        Query query = this.toQuery(predicate, fields);
+
+        // Find users
+        List<User> users = this.mongoTemplate.find(Query.of(query).with(pageable), User.class);
+
+        // Count only if the page does not tell the total already
+        return PageableExecutionUtils.getPage(users, pageable, () -> this.mongoTemplate.count(query, User.class));
+    }
+
+    @Override
+    public List<User> findAfter(Predicate predicate, Sort.Order order, Object lastValue, String lastId, int limit, Field fields) {
+        // Filter by predicate
+        Document filter = new PredicateSerializer(this.mongoTemplate).serialize(predicate);
+
+        // If continuing from a previous page
+        if (lastId != null) {
+
+            // Only keep the users after the last one
+            filter = new Document("$and", List.of(filter, seek(order, lastValue, lastId).getCriteriaObject()));
+        }
+
+        // Sort by the key, then by id
+        Sort sort = ID.equals(order.getProperty()) ? Sort.by(order) : Sort.by(order, new Sort.Order(order.getDirection(), ID));
+
+        // Find users
+        return this.mongoTemplate.find(toQuery(filter, fields).with(sort).limit(limit), User.class);
+    }
+
+    @Override
+    public Slice<User> findSlice(Predicate predicate, Pageable pageable, Field fields) {
+        // Fetch one more object than requested
+        Query query = this.toQuery(predicate, fields).with(pageable);
+
+        if (pageable.isPaged()) {
+            query.limit(pageable.getPageSize() + 1);
+        }
+
+        // Find users
+        List<User> users = this.mongoTemplate.find(query, User.class);
+
+        // If the extra object was found, there is a next slice
+        boolean hasNext = pageable.isPaged() && users.size() > pageable.getPageSize();
+
+        // Return slice
+        return new SliceImpl<>(hasNext ? users.subList(0, pageable.getPageSize()) : users, pageable, hasNext);
+    }
+
+    @Override
+    public Page<User> findPageEstimated(Predicate predicate, Pageable pageable, Field fields) {
+        // Build query
+        Query query = this.toQuery(predicate, fields);
+
+        // Find users
+        List<User> users = this.mongoTemplate.find(Query.of(query).with(pageable), User.class);
+
+        // Count only if the page does not tell the total already
+        return PageableExecutionUtils.getPage(users, pageable, () -> predicate == null
+            ? this.mongoTemplate.estimatedCount(User.class)
+            : this.mongoTemplate.count(query, User.class));
+    }
+
+    @Override
+    public long deleteMany(Predicate predicate) {
+        return this.mongoTemplate.remove(this.toQuery(predicate, null), User.class).getDeletedCount();
+    }
+
+    @Override
+    public UpdateResult updateMany(Predicate predicate, Update update) {
+        return this.mongoTemplate.updateMulti(this.toQuery(predicate, null), update.inc(VERSION, 1), User.class);
+    }
+
+    @Override
+    public Optional<User> findAndPatch(String id, Long version, Update update) {
+        // Match by id
+        Query query = Query.query(Criteria.where(ID).is(id));
+
+        // If the version is checked
+        if (version != null) {
+            query.addCriteria(Criteria.where(VERSION).is(version));
+        }
+
+        // Update and return the new state
+        return Optional.ofNullable(this.mongoTemplate.findAndModify(query, update.inc(VERSION, 1), FindAndModifyOptions.options().returnNew(true), User.class));
+    }
+
+    @Override
+    public boolean replacePassword(String id, String current, String replacement) {
+        // Match by id and current hash
+        Query query = Query.query(Criteria.where(ID).is(id).and(PASSWORD).is(current));
+
+        // Replace hash
+        Update update = new Update().set(PASSWORD, replacement).inc(VERSION, 1);
+
+        // Return whether it was replaced
+        return this.mongoTemplate.updateFirst(query, update, User.class).getModifiedCount() > 0;
+    }
+
+    /**
+     * Builds the criteria matching the documents after a position of an order.
+     * 
+     * @param order the sort order.
+     * @param lastValue the sort key at the position.
+     * @param lastId the id at the position.
+     * @return the criteria.
+     */
+    private static Criteria seek(Sort.Order order, Object lastValue, String lastId) {
+        // If sorting by id only
+        if (ID.equals(order.getProperty())) {
+            return order.isAscending() ? Criteria.where(ID).gt(lastId) : Criteria.where(ID).lt(lastId);
+        }
+
+        // Greater key, or same key and greater id
+        if (order.isAscending()) {
+            return new Criteria().orOperator(
+                Criteria.where(order.getProperty()).gt(lastValue),
+                new Criteria().andOperator(Criteria.where(order.getProperty()).is(lastValue), Criteria.where(ID).gt(lastId))
+            );
+        }
+
+        // Lower key, or same key and lower id
+        return new Criteria().orOperator(
+            Criteria.where(order.getProperty()).lt(lastValue),
+            new Criteria().andOperator(Criteria.where(order.getProperty()).is(lastValue), Criteria.where(ID).lt(lastId))
+        );
+    }
+
+    /**
+     * Converts a predicate into a Mongo query, the same way the QueryDSL
+     * repository methods do.
+     * 
+     * @param predicate the predicate, or null to match all users.
+     * @param fields the projection, or null to read whole documents.
+     * @return the query.
+     */
+    private Query toQuery(Predicate predicate, Field fields) {
+        return toQuery(new PredicateSerializer(this.mongoTemplate).serialize(predicate), fields);
+    }
+
+    /**
+     * Builds a query from a filter and a projection.
+     * 
+     * @param filter the filter.
+     * @param fields the projection, or null to read whole documents.
+     * @return the query.
+     */
+    private static Query toQuery(Document filter, Field fields) {
+        return fields != null ? new BasicQuery(filter, fields.getFieldsObject()) : new BasicQuery(filter);
+    }
+
+    /**
+     * Exposes the predicate serialization of {@link SpringDataMongodbQuery}.
+     */
+    private static class PredicateSerializer extends SpringDataMongodbQuery<User> {
+
+        PredicateSerializer(MongoOperations operations) {
+            super(operations, User.class);
+        }
+
+        Document serialize(Predicate predicate) {
+            return this.createQuery(predicate);
+        }
+
+    }
+
+}
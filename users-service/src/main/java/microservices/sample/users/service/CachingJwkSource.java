@@ -0,0 +1,173 @@
+package microservices.sample.users.service;
+
+import java.io.IOException;
+import java.net.URL;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import javax.annotation.PostConstruct;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import microservices.sample.users.config.ResourceServerProperties;
+
+/**
+ * {@link JWKSource} with the keys of the authorization service, cached in
+ * process.
+ * 
+ * The keys are fetched on first use and refreshed in the background once
+ * stale, so requests never wait on the authorization service after startup.
+ * A token signed with a key that is not cached, such as a freshly rotated
+ * one, fetches the keys right away, at most once per configured interval.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Service
+public class CachingJwkSource implements JWKSource<SecurityContext> {
+
+    /**
+     * Name of the cache in the published metrics.
+     */
+    private static final String CACHE_NAME = "jwk-set";
+
+    /**
+     * Key of the single cache entry.
+     */
+    private static final String KEY = "jwks";
+
+    /**
+     * Resource server settings.
+     */
+    @Autowired
+    private ResourceServerProperties properties;
+
+    /**
+     * Registry where the cache metrics are published.
+     */
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Cached keys.
+     */
+    private LoadingCache<String, JWKSet> jwkSet;
+
+    /**
+     * Last fetch caused by an unknown key.
+     */
+    private Instant lastUnknownKeyRefresh = Instant.MIN;
+
+    /**
+     * Builds the cache and binds its metrics.
+     */
+    @PostConstruct
+    public void initializeCache() {
+        // Build cache, stale keys are served while they are fetched again
+        this.jwkSet = Caffeine.newBuilder()
+            .refreshAfterWrite(this.properties.getJwkSet().getRefreshAfter())
+            .recordStats()
+            .build(key -> this.fetch());
+
+        // Publish hit, miss and load metrics
+        CaffeineCacheMetrics.monitor(this.meterRegistry, this.jwkSet, CACHE_NAME);
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) throws KeySourceException {
+        // Search cached keys
+        JWKSet current = this.current();
+        List<JWK> matches = jwkSelector.select(current);
+
+        // If the key is unknown, it may have been published after the last fetch
+        if (matches.isEmpty()) {
+            matches = jwkSelector.select(this.refreshForUnknownKey(current));
+        }
+
+        return matches;
+    }
+
+    /**
+     * Fetches the keys again after a token signed with an unknown key, unless
+     * another token already did it or the interval has not elapsed.
+     * 
+     * @param seen Keys the token was checked against.
+     * @return Keys to check the token against.
+     * @throws KeySourceException If the keys cannot be fetched.
+     */
+    private synchronized JWKSet refreshForUnknownKey(JWKSet seen) throws KeySourceException {
+        // If the keys were fetched meanwhile
+        JWKSet current = this.current();
+
+        if (current != seen) {
+            return current;
+        }
+
+        // If the keys were fetched for an unknown key too recently
+        Instant now = Instant.now();
+        Duration interval = this.properties.getJwkSet().getUnknownKeyRefreshInterval();
+
+        if (now.isBefore(this.lastUnknownKeyRefresh.plus(interval))) {
+            return current;
+        }
+
+        this.lastUnknownKeyRefresh = now;
+
+        // Fetch and cache keys
+        JWKSet fetched;
+
+        try {
+            fetched = this.fetch();
+        } catch (IOException | ParseException e) {
+            throw new KeySourceException("Could not fetch the keys of the authorization service", e);
+        }
+
+        this.jwkSet.put(KEY, fetched);
+
+        return fetched;
+    }
+
+    /**
+     * Returns the cached keys, fetching them if there are none yet.
+     * 
+     * @return Keys.
+     * @throws KeySourceException If the keys cannot be fetched.
+     */
+    private JWKSet current() throws KeySourceException {
+        try {
+            return this.jwkSet.get(KEY);
+        } catch (CompletionException e) {
+            throw new KeySourceException("Could not fetch the keys of the authorization service", e.getCause());
+        }
+    }
+
+    /**
+     * Fetches the public keys of the authorization service.
+     * 
+     * @return Keys.
+     * @throws IOException If the keys cannot be read.
+     * @throws ParseException If the keys are not valid.
+     */
+    private JWKSet fetch() throws IOException, ParseException {
+        // Get settings
+        ResourceServerProperties.JwkSet settings = this.properties.getJwkSet();
+
+        // Load keys
+        return JWKSet.load(new URL(this.properties.getJwkSetUri()),
+            (int) settings.getConnectTimeout().toMillis(),
+            (int) settings.getReadTimeout().toMillis(),
+            0);
+    }
+
+}
@@ -0,0 +1,108 @@
+package microservices.sample.users.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import microservices.sample.users.config.PasswordHashingProperties;
+
+/**
+ * Hashes passwords on a bounded pool of workers, so slow hashes do not hold
+ * request threads. When the queue is full new passwords are rejected instead
+ * of waiting, which keeps signup bursts from delaying every other request.
+ *
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Service
+public class PasswordHashingService {
+
+    /**
+     * Name of the metrics of the workers.
+     */
+    private static final String METRICS_NAME = "password-hashing";
+
+    /**
+     * Password encoder.
+     */
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    /**
+     * Hashing settings.
+     */
+    @Autowired
+    private PasswordHashingProperties properties;
+
+    /**
+     * Meter registry.
+     */
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Workers that hash passwords.
+     */
+    private ExecutorService executor;
+
+    /**
+     * Number of rejected passwords.
+     */
+    private Counter rejected;
+
+    /**
+     * Starts the workers.
+     */
+    @PostConstruct
+    public void initializeExecutor() {
+        // Number of workers, leaving processors for the requests
+        int threads = this.properties.getWorkers() > 0 ? this.properties.getWorkers() : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        // Create workers with a bounded queue
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(this.properties.getQueueCapacity()), new CustomizableThreadFactory("password-hashing-"));
+
+        // Publish queue depth, active workers and hashing times
+        this.executor = ExecutorServiceMetrics.monitor(this.meterRegistry, workers, METRICS_NAME);
+        this.rejected = Counter.builder("executor.rejected")
+            .tag("name", METRICS_NAME)
+            .description("Passwords rejected because the queue was full")
+            .register(this.meterRegistry);
+    }
+
+    /**
+     * Stops the workers.
+     */
+    @PreDestroy
+    public void shutdownExecutor() {
+        this.executor.shutdown();
+    }
+
+    /**
+     * Hashes a password.
+     * 
+     * @param rawPassword Password.
+     * @return Hash, completed by a worker.
+     * @throws RejectedExecutionException If too many passwords are waiting.
+     */
+    public CompletableFuture<String> encode(String rawPassword) {
+        try {
+            return CompletableFuture.supplyAsync(() -> this.passwordEncoder.encode(rawPassword), this.executor);
+        } catch (RejectedExecutionException e) {
+            this.rejected.increment();
+            throw e;
+        }
+    }
+
+}
@@ -0,0 +1,422 @@
+package microservices.sample.users.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import microservices.sample.users.model.User;
+import microservices.sample.users.model.UserImportResult;
+
+/**
+ * Imports users in bulk from newline delimited JSON.
+ *
+ * Lines are read in batches. The users of a batch are parsed, validated and
+ * have their passwords hashed on a small bounded pool of workers, so imports
+ * cannot take every processor, and are then written
+ * with a single unordered bulk operation, so imports are bound by hashing and
+ * not by round trips. Unordered writes of the same username would race, so
+ * only the first line of each username in a batch is written and the later
+ * ones are reported as duplicates.
+ *
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Service
+public class UserImportService {
+
+    /**
+     * Name of the metrics of the workers.
+     */
+    private static final String METRICS_NAME = "user-import";
+
+    /**
+     * Mongo error code of duplicate keys.
+     */
+    private static final int DUPLICATE_KEY = 11000;
+
+    /**
+     * Fields that are only set when an upsert creates the user.
+     */
+    private static final Set<String> INSERT_ONLY_FIELDS = Set.of("accountNonExpired", "accountNonLocked", "credentialsNonExpired", "enabled");
+
+    /**
+     * Jackson object mapper.
+     */
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Password encoder.
+     */
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    /**
+     * Spring validator.
+     */
+    @Autowired
+    private SpringValidatorAdapter validator;
+
+    /**
+     * Mongo template.
+     */
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * Number of users written per bulk operation.
+     */
+    @Value("${users.import.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Number of workers hashing passwords, 0 to use a quarter of the processors.
+     */
+    @Value("${users.import.workers:0}")
+    private int workers;
+
+    /**
+     * Meter registry.
+     */
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Workers that parse, validate and hash users.
+     */
+    private ExecutorService executor;
+
+    /**
+     * Starts the workers.
+     */
+    @PostConstruct
+    public void initializeExecutor() {
+        // Number of workers, leaving most processors for the requests and the password hashing pool
+        int threads = this.workers > 0 ? this.workers : Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+
+        // Create workers with a queue of one batch, the importing thread runs the lines that do not fit
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(this.batchSize), new CustomizableThreadFactory("user-import-"), new ThreadPoolExecutor.CallerRunsPolicy());
+
+        // Publish queue depth, active workers and task times
+        this.executor = ExecutorServiceMetrics.monitor(this.meterRegistry, pool, METRICS_NAME);
+    }
+
+    /**
+     * Stops the workers.
+     */
+    @PreDestroy
+    public void shutdownExecutor() {
+        this.executor.shutdown();
+    }
+
+    /**
+     * Imports the users of a newline delimited JSON document. Blank lines are
+     * skipped.
+     *
+     * @param reader Reader of the document.
+     * @param upsert Whether to update the users whose username already exists, instead of failing.
+     * @param sink Receives the results of each batch, in line order.
+     * @throws IOException If the document cannot be read.
+     */
+    public void importUsers(BufferedReader reader, boolean upsert, Consumer<List<UserImportResult>> sink) throws IOException {
+        // Lines of the current batch
+        List<Item> batch = new ArrayList<>(this.batchSize);
+
+        // Current line number
+        long line = 0;
+
+        // Read every line
+        String text;
+
+        while ((text = reader.readLine()) != null) {
+            line++;
+
+            // If the line is blank
+            if (text.isBlank()) {
+                continue;
+            }
+
+            // Add line to batch
+            batch.add(new Item(line, text));
+
+            // If the batch is full
+            if (batch.size() >= this.batchSize) {
+                sink.accept(this.importBatch(batch, upsert));
+                batch = new ArrayList<>(this.batchSize);
+            }
+        }
+
+        // Import the last batch
+        if (!batch.isEmpty()) {
+            sink.accept(this.importBatch(batch, upsert));
+        }
+    }
+
+    /**
+     * Imports a batch of lines.
+     *
+     * @param batch Lines.
+     * @param upsert Whether to update existing users.
+     * @return Results, in line order.
+     */
+    private List<UserImportResult> importBatch(List<Item> batch, boolean upsert) {
+        // Parse, validate and hash every line on the workers
+        CompletableFuture.allOf(batch.stream()
+            .map(item -> CompletableFuture.runAsync(() -> this.prepare(item), this.executor))
+            .toArray(CompletableFuture[]::new))
+            .join();
+
+        // Users that can be written, only the first line of each username
+        List<Item> valid = new ArrayList<>(batch.size());
+        Map<String, Item> byUsername = new HashMap<>();
+
+        for (Item item : batch) {
+
+            // If the line failed
+            if (item.user == null) {
+                continue;
+            }
+
+            // If an earlier line of the batch has the same username
+            Item first = byUsername.putIfAbsent(item.user.getUsername(), item);
+
+            if (first != null) {
+                item.fail("Duplicate of line " + first.result.getLine());
+            } else {
+                valid.add(item);
+            }
+        }
+
+        // Write users
+        if (!valid.isEmpty()) {
+            this.write(valid, upsert);
+        }
+
+        // Return results
+        return batch.stream().map(item -> item.result).collect(Collectors.toList());
+    }
+
+    /**
+     * Parses, validates and hashes the user of a line. On failure, the result
+     * of the line is set and the user is left empty.
+     *
+     * @param item Line.
+     */
+    private void prepare(Item item) {
+        // Parse user
+        User user;
+
+        try {
+            user = this.objectMapper.readValue(item.text, User.class);
+        } catch (JsonProcessingException e) {
+            item.fail("Invalid JSON: " + e.getOriginalMessage());
+            return;
+        }
+
+        item.result.setUsername(user.getUsername());
+
+        // Remove id and version
+        user.setId(null);
+        user.setVersion(null);
+
+        // Enable user
+        user.setEnabled(true);
+        user.setAccountNonLocked(true);
+        user.setAccountNonExpired(true);
+        user.setCredentialsNonExpired(true);
+
+        // Create validation object
+        BindingResult result = new BeanPropertyBindingResult(user, "user");
+
+        // Validate object
+        this.validator.validate(user, result);
+
+        // If there are errors
+        if (result.hasErrors()) {
+            item.fail(result.getFieldErrors().stream()
+                .map(error -> error.getField() + " " + error.getDefaultMessage())
+                .collect(Collectors.joining(", ")));
+            return;
+        }
+
+        // If the user cannot be looked up or authenticated
+        if (user.getUsername() == null || user.getPassword() == null) {
+            item.fail("Missing username or password");
+            return;
+        }
+
+        // Cipher password
+        user.setPassword(this.passwordEncoder.encode(user.getPassword()));
+
+        // Ready to write
+        item.user = user;
+    }
+
+    /**
+     * Writes users with a single unordered bulk operation, and sets the result
+     * of each of them.
+     *
+     * @param items Lines with valid users.
+     * @param upsert Whether to update existing users.
+     */
+    private void write(List<Item> items, boolean upsert) {
+        // Create bulk operation
+        BulkOperations operations = this.mongoTemplate.bulkOps(BulkMode.UNORDERED, User.class);
+
+        // Add each user
+        for (Item item : items) {
+
+            // If updating existing users
+            if (upsert) {
+                operations.upsert(Query.query(Criteria.where("username").is(item.user.getUsername())), this.toUpdate(item.user));
+            } else {
+
+                // Assign id and initial version here, so they can be reported
+                item.user.setId(new ObjectId().toHexString());
+                item.user.setVersion(0L);
+                operations.insert(item.user);
+            }
+        }
+
+        // Execute operation
+        BulkWriteResult result;
+        List<BulkWriteError> errors;
+
+        try {
+            result = operations.execute();
+            errors = List.of();
+        } catch (BulkOperationException e) {
+            result = e.getResult();
+            errors = e.getErrors();
+        }
+
+        // Errors by operation index
+        Map<Integer, BulkWriteError> errorsByIndex = new HashMap<>();
+        errors.forEach(error -> errorsByIndex.put(error.getIndex(), error));
+
+        // Created ids by operation index
+        Map<Integer, String> upsertedIds = new HashMap<>();
+        result.getUpserts().forEach(upserted -> upsertedIds.put(upserted.getIndex(), upserted.getId().asObjectId().getValue().toHexString()));
+
+        // Set results
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
+            BulkWriteError error = errorsByIndex.get(i);
+
+            // If the user was not written
+            if (error != null) {
+                item.fail(error.getCode() == DUPLICATE_KEY ? "User already exists" : error.getMessage());
+            } else if (!upsert) {
+                item.succeed(UserImportResult.Status.CREATED, item.user.getId());
+            } else if (upsertedIds.containsKey(i)) {
+                item.succeed(UserImportResult.Status.CREATED, upsertedIds.get(i));
+            } else {
+                item.succeed(UserImportResult.Status.UPDATED, null);
+            }
+        }
+    }
+
+    /**
+     * Builds the update that upserts a user and increments its version,
+     * leaving the account flags of existing users untouched.
+     *
+     * @param user User.
+     * @return Update.
+     */
+    private Update toUpdate(User user) {
+        // Convert user
+        Document document = new Document();
+        this.mongoTemplate.getConverter().write(user, document);
+        document.remove("_id");
+        document.remove("version");
+
+        // Set each field
+        Update update = new Update();
+
+        document.forEach((field, value) -> {
+            if (INSERT_ONLY_FIELDS.contains(field)) {
+                update.setOnInsert(field, value);
+            } else {
+                update.set(field, value);
+            }
+        });
+
+        // Return update
+        return update.inc("version", 1);
+    }
+
+    /**
+     * Line being imported.
+     */
+    private static class Item {
+
+        /**
+         * Text of the line.
+         */
+        private final String text;
+
+        /**
+         * Result of the line.
+         */
+        private final UserImportResult result = new UserImportResult();
+
+        /**
+         * User to write, once parsed, validated and hashed.
+         */
+        private User user;
+
+        Item(long line, String text) {
+            this.text = text;
+            this.result.setLine(line);
+        }
+
+        void fail(String error) {
+            this.user = null;
+            this.result.setStatus(UserImportResult.Status.FAILED);
+            this.result.setError(error);
+        }
+
+        void succeed(UserImportResult.Status status, String id) {
+            this.result.setStatus(status);
+            this.result.setId(id);
+        }
+
+    }
+
+}
@@ -1,6 +1,8 @@
 package microservices.sample.users.service;
 
+import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import microservices.sample.users.model.User;
 import microservices.sample.users.repository.UserRepository;
@@ -30,6 +32,36 @@ public class UserService {
         this.userRepository.save(user);
     }
 
+    /**
+     * Patches a user with a single update.
+     * 
+     * @param id User id.
+     * @param version Version the user must have, or null to patch any version.
+     * @param update Update of the patched fields.
+     * @return Patched user, or empty if there is no user with the id and version.
+     */
+    public Optional<User> patch(String id, Long version, Update update) {
+        // Update object in database
+        Optional<User> optUser = this.userRepository.findAndPatch(id, version, update);
+
+        // Return updated object
+        return optUser;
+    }
+
+    /**
+     * Replaces the password hash of a user, if it was not changed since it
+     * was read.
+     * 
+     * @param id User id.
+     * @param current Hash the user must have.
+     * @param replacement New hash.
+     * @return Whether the hash was replaced.
+     */
+    public boolean replacePassword(String id, String current, String replacement) {
+        // Update object in database
+        return this.userRepository.replacePassword(id, current, replacement);
+    }
+
     /**
      * Deletes a user.
      * 
@@ -0,0 +1,53 @@
+package microservices.sample.users.web;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import lombok.Data;
+
+/**
+ * Request to get many objects by id at once.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Data
+public class BatchGetRequest {
+
+    /**
+     * Maximum number of ids per request.
+     */
+    public static final int MAX_IDS = 1000;
+
+    /**
+     * Requested ids, in the order results are returned.
+     */
+    private List<String> ids;
+
+    /**
+     * Gets the requested ids without repetitions.
+     * 
+     * @return Ids.
+     */
+    public Set<String> distinctIds() {
+        // If no ids were sent
+        if (this.ids == null) {
+
+            // Throw exception
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Missing ids");
+        }
+
+        // If too many ids were sent
+        if (this.ids.size() > MAX_IDS) {
+
+            // Throw exception
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_IDS + " ids can be requested at once");
+        }
+
+        // Return ids
+        return new LinkedHashSet<>(this.ids);
+    }
+
+}
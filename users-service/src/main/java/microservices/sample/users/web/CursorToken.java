@@ -0,0 +1,148 @@
+package microservices.sample.users.web;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Set;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Position in a keyset paginated listing: the sort order and the sort key and
+ * id of the last object returned. Sent to clients as an opaque string.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorToken {
+
+    /**
+     * Name of the id property, the tie breaker of every order.
+     */
+    public static final String ID = "id";
+
+    /**
+     * Sort property.
+     */
+    private String property;
+
+    /**
+     * Sort direction.
+     */
+    private Sort.Direction direction;
+
+    /**
+     * Sort key of the last object, null at the start of the listing.
+     */
+    private Object value;
+
+    /**
+     * Id of the last object, null at the start of the listing.
+     */
+    private String id;
+
+    /**
+     * Creates the token of the first page of a listing.
+     * 
+     * @param sort Requested sort, only its first order is used.
+     * @param sortable Properties that have an index and can be sorted by.
+     * @return Token.
+     */
+    public static CursorToken start(Sort sort, Set<String> sortable) {
+        // Sort by id unless requested otherwise
+        Sort.Order order = sort.stream().findFirst().orElse(Sort.Order.asc(ID));
+
+        // If the property has no index
+        if (!sortable.contains(order.getProperty())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cannot sort by " + order.getProperty());
+        }
+
+        // Return token
+        return new CursorToken(order.getProperty(), order.getDirection(), null, null);
+    }
+
+    /**
+     * Creates the token that continues after an object.
+     * 
+     * @param last Last object of a page.
+     * @return Token.
+     */
+    public CursorToken after(Object last) {
+        // Read the sort key and id of the object
+        Object lastValue = PropertyAccessorFactory.forBeanPropertyAccess(last).getPropertyValue(this.property);
+        Object lastId = PropertyAccessorFactory.forBeanPropertyAccess(last).getPropertyValue(ID);
+
+        // Return token
+        return new CursorToken(this.property, this.direction, lastValue, (String) lastId);
+    }
+
+    /**
+     * Gets the sort order of the listing.
+     * 
+     * @return Order.
+     */
+    public Sort.Order toOrder() {
+        return new Sort.Order(this.direction, this.property);
+    }
+
+    /**
+     * Encodes the token.
+     * 
+     * @param objectMapper Jackson object mapper.
+     * @return Opaque string.
+     */
+    public String encode(ObjectMapper objectMapper) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(this));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Decodes a token.
+     * 
+     * @param token Opaque string.
+     * @param objectMapper Jackson object mapper.
+     * @return Token.
+     */
+    public static CursorToken decode(String token, ObjectMapper objectMapper) {
+        // Read token
+        CursorToken cursor;
+
+        try {
+            cursor = objectMapper.readValue(Base64.getUrlDecoder().decode(token), CursorToken.class);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+
+        // If the sort key is not a plain value, it could carry query operators
+        if (!isScalar(cursor.getValue())) {
+
+            // Throw exception
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+
+        // Return token
+        return cursor;
+    }
+
+    /**
+     * Checks that a decoded sort key is a plain JSON value.
+     * 
+     * @param value Sort key.
+     * @return Whether it is null, a string, a number or a boolean.
+     */
+    private static boolean isScalar(Object value) {
+        return value == null || value instanceof String || value instanceof Number || value instanceof Boolean;
+    }
+
+}
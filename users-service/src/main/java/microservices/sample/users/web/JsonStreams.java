@@ -0,0 +1,130 @@
+package microservices.sample.users.web;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Writes database cursors to the response as they are read, either as a JSON
+ * array or as newline delimited JSON.
+ * 
+ * Only the current document is held in memory, and writes block while the
+ * client is not reading, so the cursor is not advanced faster than the
+ * response is consumed.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+public final class JsonStreams {
+
+    /**
+     * Separator of newline delimited JSON values.
+     */
+    private static final String LINE_SEPARATOR = "\n";
+
+    private JsonStreams() {
+    }
+
+    /**
+     * Streams the objects of a cursor as a JSON array.
+     * 
+     * @param <T> Type of the objects.
+     * @param objectMapper Jackson object mapper.
+     * @param source Opens the cursor once the response is being written.
+     * @return Response.
+     */
+    public static <T> ResponseEntity<StreamingResponseBody> array(ObjectMapper objectMapper, Supplier<CloseableIterator<T>> source) {
+        return stream(objectMapper, source, Function.identity(), MediaType.APPLICATION_JSON, false);
+    }
+
+    /**
+     * Streams a view of each object of a cursor as a JSON array.
+     * 
+     * @param <T> Type of the objects.
+     * @param objectMapper Jackson object mapper.
+     * @param source Opens the cursor once the response is being written.
+     * @param view Converts each object to the value written.
+     * @return Response.
+     */
+    public static <T> ResponseEntity<StreamingResponseBody> array(ObjectMapper objectMapper, Supplier<CloseableIterator<T>> source, Function<? super T, ?> view) {
+        return stream(objectMapper, source, view, MediaType.APPLICATION_JSON, false);
+    }
+
+    /**
+     * Streams the objects of a cursor as newline delimited JSON.
+     * 
+     * @param <T> Type of the objects.
+     * @param objectMapper Jackson object mapper.
+     * @param source Opens the cursor once the response is being written.
+     * @return Response.
+     */
+    public static <T> ResponseEntity<StreamingResponseBody> ndjson(ObjectMapper objectMapper, Supplier<CloseableIterator<T>> source) {
+        return stream(objectMapper, source, Function.identity(), MediaType.APPLICATION_NDJSON, true);
+    }
+
+    /**
+     * Streams a view of each object of a cursor as newline delimited JSON.
+     * 
+     * @param <T> Type of the objects.
+     * @param objectMapper Jackson object mapper.
+     * @param source Opens the cursor once the response is being written.
+     * @param view Converts each object to the value written.
+     * @return Response.
+     */
+    public static <T> ResponseEntity<StreamingResponseBody> ndjson(ObjectMapper objectMapper, Supplier<CloseableIterator<T>> source, Function<? super T, ?> view) {
+        return stream(objectMapper, source, view, MediaType.APPLICATION_NDJSON, true);
+    }
+
+    /**
+     * Streams the objects of a cursor.
+     * 
+     * @param <T> Type of the objects.
+     * @param objectMapper Jackson object mapper.
+     * @param source Opens the cursor once the response is being written.
+     * @param view Converts each object to the value written.
+     * @param mediaType Response media type.
+     * @param delimited Whether to write newline delimited values instead of an array.
+     * @return Response.
+     */
+    private static <T> ResponseEntity<StreamingResponseBody> stream(ObjectMapper objectMapper, Supplier<CloseableIterator<T>> source, Function<? super T, ?> view, MediaType mediaType, boolean delimited) {
+        // Writer that neither flushes every value nor closes the response stream
+        ObjectWriter writer = objectMapper.writer()
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .withRootValueSeparator(LINE_SEPARATOR);
+
+        // Response body
+        StreamingResponseBody body = output -> {
+            // Whether at least one value was written
+            boolean written = false;
+
+            // Open the cursor and the writer
+            try (CloseableIterator<T> iterator = source.get();
+                    SequenceWriter sequence = delimited ? writer.writeValues(output) : writer.writeValuesAsArray(output)) {
+
+                // Write each object
+                while (iterator.hasNext()) {
+                    sequence.write(view.apply(iterator.next()));
+                    written = true;
+                }
+            }
+
+            // Terminate the last line
+            if (delimited && written) {
+                output.write(LINE_SEPARATOR.getBytes());
+            }
+        };
+
+        // Return response
+        return ResponseEntity.ok().contentType(mediaType).body(body);
+    }
+
+}
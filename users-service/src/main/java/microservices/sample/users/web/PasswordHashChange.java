@@ -0,0 +1,41 @@
+package microservices.sample.users.web;
+
+import java.util.regex.Pattern;
+import lombok.Data;
+
+/**
+ * Request to replace the password hash of a user with one computed elsewhere,
+ * such as when a password is rehashed with newer parameters on login.
+ * 
+ * @author Matías Hermosilla
+ * @since 18-10-2026
+ */
+@Data
+public class PasswordHashChange {
+
+    /**
+     * Hashes accepted as replacements: encoder prefixed hashes, and bare
+     * BCrypt hashes like the ones this service stored before.
+     */
+    private static final Pattern HASH = Pattern.compile("\\{[a-z0-9-]+\\}\\S+|\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}");
+
+    /**
+     * Hash the user must have, so password changes made since are kept.
+     */
+    private String current;
+
+    /**
+     * New hash.
+     */
+    private String replacement;
+
+    /**
+     * Checks whether the replacement is a hash and not a raw password.
+     * 
+     * @return Whether the replacement is a hash.
+     */
+    public boolean isReplacementHashed() {
+        return this.replacement != null && HASH.matcher(this.replacement).matches();
+    }
+
+}